@@ -0,0 +1,191 @@
+import java.io.IOException; // Thrown when inputs cannot be read or summaries cannot be written.
+import java.io.Writer; // Summaries of very large files are streamed to their output file.
+import java.nio.charset.StandardCharsets; // Inputs and summaries are UTF-8.
+import java.nio.file.Files; // File system access.
+import java.nio.file.Path; // Input and output locations.
+import java.nio.file.Paths; // For parsing paths from the command line.
+import java.util.Iterator; // Walks the inputs lazily.
+import java.util.concurrent.ExecutorService; // Runs the summaries.
+import java.util.concurrent.Executors; // Creates the worker pool.
+import java.util.concurrent.Semaphore; // Bounds the number of documents in flight.
+import java.util.concurrent.TimeUnit; // For waiting on the pool.
+import java.util.concurrent.atomic.AtomicLong; // Thread-safe counters.
+import java.util.stream.Stream; // Lazy directory walk and file list.
+
+// This class summarizes many documents without the GUI.
+// Inputs come from a directory (walked recursively) or from a text file listing one path per line. Documents are
+// summarized concurrently on a fixed pool; at most a few documents per thread are in flight, and each summary is
+// written to disk as soon as it is ready, so memory use does not depend on the number of inputs.
+// Files above STREAMING_THRESHOLD are streamed through FileSummarizer, so the options must be ones it supports;
+// this is checked once, when the batch is created. Their summaries keep at most STREAMED_MAX_SENTENCES sentences
+// unless the options set their own cap.
+// At the end it prints documents per second, mebibytes (2^20 bytes) per second and latency percentiles.
+public class BatchSummarizer {
+
+    // Files larger than this are summarized through FileSummarizer instead of being read into memory.
+    private static final long STREAMING_THRESHOLD = 64L * 1024 * 1024;
+
+    // Default cap on the number of sentences in the summary of a streamed file.
+    private static final int STREAMED_MAX_SENTENCES = 100_000;
+
+    private final SummaryGenerator summaryGenerator; // Shared by all workers; it keeps no per-call state.
+    private final SummaryCache summaryCache; // Skips duplicate documents.
+    private final SummaryOptions options; // Length settings for every summary.
+    private final SummaryOptions streamingOptions; // The same, with a sentence cap, for files above the threshold.
+    private final Path outputDirectory; // Where the summaries are written.
+    private final int threads; // Number of worker threads.
+
+    private final LatencyHistogram latencies = new LatencyHistogram(); // Time to read, summarize and write each document.
+    private final AtomicLong documents = new AtomicLong(); // Documents summarized successfully.
+    private final AtomicLong failures = new AtomicLong(); // Documents that could not be summarized.
+    private final AtomicLong bytes = new AtomicLong(); // Input bytes summarized successfully.
+
+    // Throws IllegalArgumentException if files above the streaming threshold could not be summarized with 'options'.
+    public BatchSummarizer(SummaryGenerator summaryGenerator, SummaryCache summaryCache, SummaryOptions options, Path outputDirectory, int threads) {
+        FileSummarizer.checkSupported(options);
+        this.summaryGenerator = summaryGenerator;
+        this.summaryCache = summaryCache;
+        this.options = options;
+        this.streamingOptions = options.hasMaxSentences() ? options : options.withMaxSentences(STREAMED_MAX_SENTENCES);
+        this.outputDirectory = outputDirectory;
+        this.threads = threads;
+    }
+
+    // Entry point for "--batch <directory | @list-file> --out <directory> [--threads N] [--cache <directory>]
+    // [--idf <index file>] [--ratio R | --sentences N] [--max-sentences N]".
+    // Word budgets, TextRank and near-duplicate skipping need the whole document in memory, so they are rejected:
+    // files above the streaming threshold could not be summarized with them.
+    public static void main(String[] args) throws Exception {
+        String input = null;
+        Path output = null;
+        Path cacheDirectory = null;
+        IdfIndex idfIndex = IdfIndex.fromSystemProperty();
+        int threads = Runtime.getRuntime().availableProcessors();
+        SummaryOptions options = SummaryOptions.DEFAULT;
+        int maxSentences = -1;
+        SummaryRanker ranker = SummaryRanker.FREQUENCY;
+        boolean dedup = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch": input = args[++i]; break;
+                case "--out": output = Paths.get(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--cache": cacheDirectory = Paths.get(args[++i]); break;
+                case "--idf": idfIndex = IdfIndex.open(Paths.get(args[++i])); break;
+                case "--ranker": ranker = SummaryRanker.parse(args[++i]); break;
+                case "--dedup": dedup = true; break;
+                case "--ratio": options = SummaryOptions.ratio(Double.parseDouble(args[++i])); break;
+                case "--sentences": options = SummaryOptions.sentences(Integer.parseInt(args[++i])); break;
+                case "--words": options = SummaryOptions.words(Integer.parseInt(args[++i])); break;
+                case "--max-sentences": maxSentences = Integer.parseInt(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        if (input == null || output == null) {
+            System.err.println("Usage: --batch <directory | @list-file> --out <directory> [--threads N] [--cache <directory>] [--idf <index file>] [--ratio R | --sentences N] [--max-sentences N]");
+            System.exit(2);
+        }
+
+        options = options.withRanker(ranker).withSkipNearDuplicates(dedup);
+        if (maxSentences >= 0) {
+            options = options.withMaxSentences(maxSentences);
+        }
+        SummaryGenerator summaryGenerator = new SummaryGenerator(new SentenceSegmenter(), null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, idfIndex);
+        SummaryCache summaryCache = new SummaryCache(summaryGenerator, 64_000_000, cacheDirectory);
+        BatchSummarizer batch = new BatchSummarizer(summaryGenerator, summaryCache, options, output, threads);
+        if (input.startsWith("@")) {
+            Path list = Paths.get(input.substring(1));
+            try (Stream<String> lines = Files.lines(list)) {
+                batch.run(null, lines.map(String::trim).filter(line -> !line.isEmpty()).map(Paths::get).iterator());
+            }
+        } else {
+            Path root = Paths.get(input);
+            try (Stream<Path> files = Files.walk(root)) {
+                batch.run(root, files.filter(Files::isRegularFile).iterator());
+            }
+        }
+        System.exit(batch.failures.get() == 0 ? 0 : 1);
+    }
+
+    // Summarizes every input and prints a throughput report. 'root' is the input directory (or single file), used to
+    // mirror the directory layout in the output, or null when the inputs come from a list.
+    public void run(Path root, Iterator<Path> inputs) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2); // Stops the walk from queueing every file at once.
+        long start = System.nanoTime();
+        try {
+            while (inputs.hasNext()) {
+                Path input = inputs.next();
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        summarize(root, input);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        report(System.nanoTime() - start);
+    }
+
+    // Summarizes one document, writes its summary and prints one line with its latency.
+    private void summarize(Path root, Path input) {
+        long start = System.nanoTime();
+        try {
+            long size = Files.size(input);
+            Path output = outputFor(root, input);
+            Files.createDirectories(output.getParent());
+            if (size > STREAMING_THRESHOLD) { // Written sentence by sentence, never held as one String.
+                try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                    summaryGenerator.summarizeFile(input, streamingOptions, writer);
+                }
+            } else {
+                String summary = summaryCache.generateSummary(new String(Files.readAllBytes(input), StandardCharsets.UTF_8), options);
+                Files.write(output, summary.getBytes(StandardCharsets.UTF_8));
+            }
+
+            long elapsed = System.nanoTime() - start;
+            latencies.record(elapsed);
+            documents.incrementAndGet();
+            bytes.addAndGet(size);
+            System.out.println("OK " + input + " -> " + output + " (" + LatencyHistogram.millis(elapsed) + ")");
+        } catch (IOException | RuntimeException e) {
+            failures.incrementAndGet();
+            System.err.println("FAILED " + input + ": " + e);
+        }
+    }
+
+    // Returns where the summary of the given input is written.
+    private Path outputFor(Path root, Path input) {
+        Path relative;
+        if (root != null && Files.isRegularFile(root)) {
+            relative = input.getFileName(); // "--batch" was given a single file.
+        } else if (root != null) {
+            relative = root.relativize(input);
+        } else {
+            Path absolute = input.toAbsolutePath().normalize();
+            relative = absolute.getRoot().relativize(absolute); // Mirror the absolute path under the output directory.
+        }
+        return outputDirectory.resolve(relative.toString() + ".summary.txt");
+    }
+
+    // Prints the throughput and latency report.
+    private void report(long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        double mebibytes = bytes.get() / (1024.0 * 1024.0);
+        System.out.println("----");
+        System.out.printf("Documents: %d ok, %d failed, %.1f MiB in %.2f s%n", documents.get(), failures.get(), mebibytes, seconds);
+        System.out.printf("Throughput: %.1f docs/sec, %.2f MiB/sec%n", documents.get() / seconds, mebibytes / seconds);
+        System.out.println("Latency: " + latencies.summary());
+        System.out.println("Cache: " + summaryCache.stats());
+        if (SummaryMetrics.ENABLED) {
+            for (String stage : SummaryMetrics.global().getStageSummaries()) { // Where the generator spent its time.
+                System.out.println("Stage " + stage);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+import java.nio.ByteBuffer; // The bytes being viewed, usually a memory-mapped region of a file.
+import java.nio.charset.StandardCharsets; // For converting a region to a String.
+
+// This class lets the segmenter and tokenizer read a byte buffer as if it were text, without decoding it.
+// Every byte is exposed as one char (0-255), so UTF-8 input shows up as its raw bytes: multi-byte characters
+// become several chars of 0x80 or above, which never match an ASCII character. The tokenizer only keeps the
+// letters a-z and A-Z and ends words at ASCII whitespace, so it reads the bytes exactly like the decoded text.
+// SentenceSegmenter checks for ByteText and matches the curly closing quotes by their UTF-8 bytes.
+public class ByteText implements CharSequence {
+
+    private final ByteBuffer bytes; // Bytes being viewed; positions are absolute indices into it.
+    private final int offset; // Index of the first byte of this view.
+    private final int length; // Number of bytes in this view.
+
+    // Creates a view over all the bytes of the buffer, from index 0 to its limit.
+    public ByteText(ByteBuffer bytes) {
+        this(bytes, 0, bytes.limit());
+    }
+
+    private ByteText(ByteBuffer bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes.get(offset + index) & 0xFF); // Absolute get, the buffer position is not touched.
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new ByteText(bytes, offset + start, end - start);
+    }
+
+    // Decodes the bytes of this view as UTF-8.
+    @Override
+    public String toString() {
+        byte[] copy = new byte[length];
+        for (int i = 0; i < length; i++) {
+            copy[i] = bytes.get(offset + i);
+        }
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+import javax.swing.text.BadLocationException; // Thrown for ranges outside the document.
+import javax.swing.text.Document; // The text being viewed.
+import javax.swing.text.Segment; // A window onto the document's own character array.
+
+// This class lets the live summarizer read a Swing document as a CharSequence without copying it.
+// A document keeps its text in a gap buffer, so asking for the whole text after an edit (the gap sits at the edit)
+// copies everything. Here the text is read through a Segment with partial returns enabled: each request returns
+// the contiguous run of characters that starts at the requested offset and ends at the gap or the end of the text,
+// straight from the document's array. Reads near the previous one are served from that run.
+// The view is only valid until the document changes; the GUI creates one per edit, on the Event Dispatch Thread.
+public class DocumentText implements CharSequence {
+
+    // How far before a requested offset a new run starts, so short backward scans do not refetch every character.
+    private static final int LOOK_BEHIND = 256;
+
+    private final Document document; // Text being viewed.
+    private final int length; // Length of the document when the view was created.
+    private final Segment run = new Segment(); // Characters [runStart, runStart + run.count) of the document.
+    private int runStart; // Document offset of the first character of 'run'.
+
+    // Creates a view over the current text of the document.
+    public DocumentText(Document document) {
+        this.document = document;
+        this.length = document.getLength();
+        run.setPartialReturn(true);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < runStart || index >= runStart + run.count) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+            }
+            fetch(index < runStart ? Math.max(0, index - LOOK_BEHIND) : index);
+            if (index >= runStart + run.count) {
+                fetch(index); // The gap lies between the look-behind start and the index.
+            }
+        }
+        return run.array[run.offset + index - runStart];
+    }
+
+    // Copies the characters [start, end) into a String.
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return text(start, end - start);
+    }
+
+    // Copies the whole text into a String.
+    @Override
+    public String toString() {
+        return text(0, length);
+    }
+
+    // Points 'run' at the longest contiguous run of characters that starts at 'start'.
+    private void fetch(int start) {
+        try {
+            document.getText(start, length - start, run);
+        } catch (BadLocationException e) {
+            throw new IllegalStateException(e); // Cannot happen unless the document changed under the view.
+        }
+        runStart = start;
+    }
+
+    // Returns a copy of 'count' characters starting at 'start'.
+    private String text(int start, int count) {
+        try {
+            return document.getText(start, count);
+        } catch (BadLocationException e) {
+            throw new IndexOutOfBoundsException(e.getMessage());
+        }
+    }
+}
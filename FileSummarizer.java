@@ -0,0 +1,209 @@
+import java.io.IOException; // Thrown when the file cannot be read.
+import java.nio.ByteBuffer; // Buffers for mapped windows and for reading the chosen sentences.
+import java.nio.channels.FileChannel; // For memory-mapping the input file.
+import java.nio.charset.StandardCharsets; // The selected sentences are decoded as UTF-8.
+import java.nio.file.Path; // Location of the input file.
+import java.nio.file.StandardOpenOption; // To open the file read-only.
+import java.util.Arrays; // For growing the frequency table.
+
+// This class summarizes a file that may be far larger than the heap.
+// The file is memory-mapped in fixed-size windows that are cut at sentence boundaries and read twice:
+// pass one counts word frequencies, pass two scores every sentence and keeps only the top k in a bounded heap.
+// Only the vocabulary and the k winners stay in memory, so peak memory does not grow with the file size.
+// k itself is capped at MAX_SUMMARY_SENTENCES; the winners are read back and written out one at a time, so a
+// long summary can go straight to a file instead of being built as one String.
+// The text is expected to be UTF-8 (or plain ASCII); sentence boundaries are detected on ASCII punctuation.
+public class FileSummarizer {
+
+    // Default number of bytes mapped at a time.
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    // Largest number of sentences a file summary may keep (about 32 bytes of memory each while summarizing).
+    public static final int MAX_SUMMARY_SENTENCES = 1 << 21;
+
+    private final SentenceSegmenter segmenter; // Finds sentence spans inside each window.
+    private final int windowSize; // Number of bytes mapped at a time.
+    private final IdfIndex idfIndex; // Corpus IDF weights for TF-IDF scoring, or null to score by raw frequency.
+
+    // Creates a summarizer with the default window size.
+    public FileSummarizer(SentenceSegmenter segmenter) {
+        this(segmenter, DEFAULT_WINDOW_SIZE);
+    }
+
+    // Creates a summarizer that maps at most 'windowSize' bytes at a time.
+    public FileSummarizer(SentenceSegmenter segmenter, int windowSize) {
+        this(segmenter, windowSize, null);
+    }
+
+    // Same as above, scoring sentences by TF-IDF with the given index (see SummaryGenerator).
+    public FileSummarizer(SentenceSegmenter segmenter, int windowSize, IdfIndex idfIndex) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.segmenter = segmenter;
+        this.windowSize = windowSize;
+        this.idfIndex = idfIndex;
+    }
+
+    // Summarizes the given file and returns the summary.
+    public String summarize(Path file, SummaryOptions options) throws IOException {
+        StringBuilder summary = new StringBuilder();
+        summarize(file, options, summary);
+        return summary.toString();
+    }
+
+    // Summarizes the given file and appends the summary to 'out' one sentence at a time.
+    // Word budgets are not supported here, because they need every score at once, and neither are TextRank and
+    // near-duplicate skipping, because they need every sentence at once. Summaries that would keep more than
+    // MAX_SUMMARY_SENTENCES sentences are rejected; use a smaller ratio or SummaryOptions.withMaxSentences().
+    public void summarize(Path file, SummaryOptions options, Appendable out) throws IOException {
+        checkSupported(options);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            TermTable terms = new TermTable();
+            WordTokenizer tokenizer = new WordTokenizer();
+            IntList sentenceTerms = new IntList(); // Term IDs of the current sentence only.
+
+            // Pass one: count word frequencies and sentences.
+            int[] wordFrequency = new int[1024];
+            int sentenceCount = 0;
+            SentenceReader reader = new SentenceReader(channel);
+            while (reader.next()) {
+                sentenceTerms.clear();
+                tokenizer.tokenize(reader.text, reader.start, reader.end, terms, sentenceTerms);
+                if (terms.size() > wordFrequency.length) {
+                    wordFrequency = Arrays.copyOf(wordFrequency, Math.max(terms.size(), wordFrequency.length * 2));
+                }
+                for (int k = 0; k < sentenceTerms.size(); k++) {
+                    wordFrequency[sentenceTerms.get(k)]++;
+                }
+                sentenceCount++;
+            }
+
+            // Pass two: score each sentence and keep the best k with their file offsets.
+            long[] termWeights = idfIndex == null ? null : idfIndex.termWeights(terms, wordFrequency);
+            int summaryLength = options.sentenceLimit(sentenceCount);
+            if (summaryLength > MAX_SUMMARY_SENTENCES) {
+                throw new IllegalArgumentException("A file summary may keep at most " + MAX_SUMMARY_SENTENCES
+                        + " sentences, " + options + " keeps " + summaryLength);
+            }
+            SentenceSelector.StreamingTop top = new SentenceSelector.StreamingTop(summaryLength);
+            long[] slotStarts = new long[summaryLength]; // File offset where each kept sentence starts.
+            long[] slotEnds = new long[summaryLength]; // File offset where each kept sentence ends.
+            int sentence = 0;
+            reader = new SentenceReader(channel);
+            while (reader.next()) {
+                sentenceTerms.clear();
+                tokenizer.tokenize(reader.text, reader.start, reader.end, terms, sentenceTerms);
+                long score = 0;
+                if (termWeights == null) {
+                    for (int k = 0; k < sentenceTerms.size(); k++) {
+                        score += wordFrequency[sentenceTerms.get(k)];
+                    }
+                } else { // TF-IDF, divided by the sentence length as in SummaryGenerator.
+                    for (int k = 0; k < sentenceTerms.size(); k++) {
+                        score += termWeights[sentenceTerms.get(k)];
+                    }
+                    score /= Math.max(1, sentenceTerms.size());
+                }
+                int slot = top.offer(sentence++, score);
+                if (slot >= 0) {
+                    slotStarts[slot] = reader.base + reader.start;
+                    slotEnds[slot] = reader.base + reader.end;
+                }
+            }
+
+            // Read back only the winning sentences, in document order.
+            boolean first = true;
+            for (int slot : top.slotsInDocumentOrder()) {
+                if (!first) {
+                    out.append(' ');
+                }
+                out.append(read(channel, slotStarts[slot], slotEnds[slot]));
+                first = false;
+            }
+        }
+    }
+
+    // Throws IllegalArgumentException if files cannot be summarized with the given options (see above).
+    public static void checkSupported(SummaryOptions options) {
+        if (options.hasWordBudget()) {
+            throw new IllegalArgumentException("Word budgets are not supported when summarizing files: " + options);
+        }
+        if (options.getRanker() != SummaryRanker.FREQUENCY) {
+            throw new IllegalArgumentException("Only the frequency ranker is supported when summarizing files: " + options);
+        }
+        if (options.skipsNearDuplicates()) {
+            throw new IllegalArgumentException("Near-duplicate skipping is not supported when summarizing files: " + options);
+        }
+    }
+
+    // Reads the bytes [start, end) of the file and decodes them as UTF-8.
+    private static String read(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                break; // The file was truncated while we were reading it.
+            }
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    // This class walks the sentences of a file one mapped window at a time.
+    // A window ends at the start of its last sentence (which might continue past the window) unless it is the
+    // end of the file; the next window starts there, so every sentence is seen whole and exactly once.
+    private class SentenceReader {
+        private final FileChannel channel;
+        private final long fileSize;
+        private final IntList starts = new IntList(); // Sentence starts within the current window.
+        private final IntList ends = new IntList(); // Sentence ends within the current window.
+        private long nextWindow; // File offset of the next window to map.
+        private int index; // Index of the next sentence within the current window.
+        private int count; // Number of usable sentences in the current window.
+
+        ByteText text; // Current window.
+        long base; // File offset of the current window.
+        int start; // Start of the current sentence within the window.
+        int end; // End of the current sentence within the window.
+
+        SentenceReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+        }
+
+        // Moves to the next sentence. Returns false when the whole file has been read.
+        boolean next() throws IOException {
+            while (index == count) {
+                if (nextWindow >= fileSize) {
+                    return false;
+                }
+                loadWindow();
+            }
+            start = starts.get(index);
+            end = ends.get(index);
+            index++;
+            return true;
+        }
+
+        // Maps the next window and finds its sentences.
+        private void loadWindow() throws IOException {
+            base = nextWindow;
+            int length = (int) Math.min(windowSize, fileSize - base);
+            text = new ByteText(channel.map(FileChannel.MapMode.READ_ONLY, base, length));
+            starts.clear();
+            ends.clear();
+            count = segmenter.segment(text, 0, length, starts, ends);
+            index = 0;
+
+            if (base + length == fileSize) {
+                nextWindow = fileSize; // Last window: every sentence is complete.
+            } else if (count > 1) {
+                count--; // The last sentence may be cut off; read it again from the next window.
+                nextWindow = base + starts.get(count);
+            } else if (count == 1) {
+                nextWindow = base + ends.get(0); // A single sentence longer than the window is split.
+            } else {
+                nextWindow = base + length; // The window held only whitespace.
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+import java.io.IOException; // Thrown when the index cannot be read.
+import java.io.UncheckedIOException; // Thrown when the index named by the system property cannot be read.
+import java.nio.ByteBuffer; // View of the mapped file.
+import java.nio.channels.FileChannel; // For memory-mapping the file.
+import java.nio.file.Path; // Location of the index file.
+import java.nio.file.Paths; // For parsing the system property.
+import java.nio.file.StandardOpenOption; // To open the file read-only.
+import java.util.zip.CRC32C; // Checksum of the contents, for toString().
+
+// This class looks up the inverse document frequency (IDF) of words in an index file built by IdfIndexBuilder.
+// The file is memory-mapped, not read: opening it is instant whatever its size, and every process using the same
+// file shares one copy of it through the operating system's page cache.
+//
+// File layout (big-endian):
+//   int   magic ("IDF1")
+//   int   termCount
+//   long  documentCount
+//   int   termOffsets[termCount + 1]   where each term's bytes start in the term area; the last entry is its size
+//   float idf[termCount]
+//   byte  terms[]                      the terms (letters a-z, one byte each), sorted, back to back
+// Lookups binary-search the sorted terms, comparing bytes in place.
+// It is safe to use from many threads at once: only absolute reads are made on the mapped buffer.
+public class IdfIndex {
+
+    // Identifies index files: the characters "IDF1".
+    static final int MAGIC = 0x49444631;
+
+    // Size of the header before the term offsets, in bytes.
+    static final int HEADER_SIZE = 16;
+
+    // Number of fractional bits of the fixed-point weights returned by termWeights().
+    public static final int WEIGHT_FRACTION_BITS = 10;
+
+    // System property naming an index file that every SummaryGenerator created without an explicit index uses.
+    public static final String SYSTEM_PROPERTY = "summarizer.idf";
+
+    private final ByteBuffer buffer; // The mapped file.
+    private final String name; // File name, used in toString().
+    private final int termCount; // Number of terms in the index.
+    private final long documentCount; // Number of documents of the corpus the index was built from.
+    private final int idfStart; // Position of the idf array in the buffer.
+    private final int termsStart; // Position of the term area in the buffer.
+    private final float unknownIdf; // IDF of words missing from the index: as rare as a word can be.
+    private volatile long checksum = -1; // CRC-32C of the whole file, or -1 until toString() first needs it.
+
+    private IdfIndex(ByteBuffer buffer, String name) throws IOException {
+        this.buffer = buffer;
+        this.name = name;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an IDF index: " + name);
+        }
+        termCount = buffer.getInt(4);
+        documentCount = buffer.getLong(8);
+        idfStart = HEADER_SIZE + 4 * (termCount + 1);
+        termsStart = idfStart + 4 * termCount;
+        if (termCount < 0 || termsStart > buffer.capacity() || termsStart + termOffset(termCount) != buffer.capacity()) {
+            throw new IOException("Truncated or damaged IDF index: " + name);
+        }
+        unknownIdf = idf(documentCount, 0);
+    }
+
+    // Maps the given index file.
+    public static IdfIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("IDF index too large: " + file);
+            }
+            // The mapping stays valid after the channel is closed.
+            return new IdfIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file.getFileName().toString());
+        }
+    }
+
+    // Returns the index named by the "summarizer.idf" system property, mapped once per JVM, or null if it is not set.
+    public static IdfIndex fromSystemProperty() {
+        return SystemPropertyHolder.INDEX;
+    }
+
+    // The smoothed IDF used by the builder and for unknown words: ln((1 + documents) / (1 + df)) + 1.
+    // It is always positive, so every word adds something to a sentence's score.
+    static float idf(long documentCount, long documentFrequency) {
+        return (float) (Math.log((1.0 + documentCount) / (1.0 + documentFrequency)) + 1.0);
+    }
+
+    // Returns the number of terms in the index.
+    public int size() {
+        return termCount;
+    }
+
+    // Returns the number of documents the index was built from.
+    public long documentCount() {
+        return documentCount;
+    }
+
+    // Returns the IDF of word[offset, offset + length); words missing from the index get the highest possible IDF.
+    public float idf(char[] word, int offset, int length) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareTerm(middle, word, offset, length);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return buffer.getFloat(idfStart + 4 * middle);
+            }
+        }
+        return unknownIdf;
+    }
+
+    // Returns the TF-IDF weight of every term of a document, indexed by term ID: its frequency in the document
+    // times its IDF, as a fixed-point number with WEIGHT_FRACTION_BITS fractional bits.
+    // Each distinct term is looked up once, however often it occurs.
+    public long[] termWeights(TermTable terms, int[] wordFrequency) {
+        long[] weights = new long[terms.size()];
+        for (int id = 0; id < weights.length; id++) {
+            weights[id] = wordFrequency[id] * termIdf(terms, id);
+        }
+        return weights;
+    }
+
+    // Returns the IDF of term 'id' of the table as a fixed-point number with WEIGHT_FRACTION_BITS fractional bits.
+    // termWeights() multiplies it by the frequency of the term; callers that keep a term table can cache it instead.
+    public long termIdf(TermTable terms, int id) {
+        float idf = idf(terms.pool(), terms.termStart(id), terms.termLength(id));
+        return Math.round(idf * (1 << WEIGHT_FRACTION_BITS));
+    }
+
+    // Compares term 'index' of the index with the given word, like String.compareTo.
+    private int compareTerm(int index, char[] word, int offset, int length) {
+        int start = termsStart + termOffset(index);
+        int termLength = termOffset(index + 1) - termOffset(index);
+        int common = Math.min(termLength, length);
+        for (int i = 0; i < common; i++) {
+            int difference = (buffer.get(start + i) & 0xff) - word[offset + i];
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return termLength - length;
+    }
+
+    private int termOffset(int index) {
+        return buffer.getInt(HEADER_SIZE + 4 * index);
+    }
+
+    // Returns a short description such as "corpus.idf(120000 terms, 5000 docs, crc 1a2b3c4d)", used in cache keys.
+    // The checksum covers the whole file, so a rebuilt index with the same name and counts gets different keys.
+    @Override
+    public String toString() {
+        return name + "(" + termCount + " terms, " + documentCount + " docs, crc " + Long.toHexString(checksum()) + ")";
+    }
+
+    // Returns the CRC-32C of the mapped file, computed once on first use so that opening the index stays instant.
+    private long checksum() {
+        long value = checksum;
+        if (value < 0) {
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().position(0)); // A duplicate, so other threads' reads are not disturbed.
+            value = crc.getValue();
+            checksum = value; // Threads racing here compute the same value.
+        }
+        return value;
+    }
+
+    // Loads the index named by the system property the first time it is needed.
+    private static class SystemPropertyHolder {
+        static final IdfIndex INDEX = load();
+
+        private static IdfIndex load() {
+            String file = System.getProperty(SYSTEM_PROPERTY);
+            if (file == null || file.isEmpty()) {
+                return null;
+            }
+            try {
+                return open(Paths.get(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open the IDF index given by -D" + SYSTEM_PROPERTY, e);
+            }
+        }
+    }
+}
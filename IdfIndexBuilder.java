@@ -0,0 +1,117 @@
+import java.io.IOException; // Thrown when the corpus or the index cannot be accessed.
+import java.nio.ByteBuffer; // The index is assembled in memory before it is written.
+import java.nio.channels.FileChannel; // For mapping corpus files and writing the index.
+import java.nio.file.Files; // File system access.
+import java.nio.file.Path; // Corpus and index locations.
+import java.nio.file.Paths; // For parsing paths from the command line.
+import java.nio.file.StandardCopyOption; // For publishing the index atomically.
+import java.nio.file.StandardOpenOption; // To open corpus files read-only and the index for writing.
+import java.util.Arrays; // For growing the document frequencies and sorting the terms.
+import java.util.Iterator; // Walks the corpus.
+import java.util.stream.Stream; // Lazy directory walk.
+
+// This class builds an IDF index file (see IdfIndex) from a corpus: every file of a directory is one document.
+// Words are normalized exactly as WordTokenizer does when summarizing, so lookups find them. Each document is
+// memory-mapped and read once; only the vocabulary and one counter per word stay in memory.
+public class IdfIndexBuilder {
+
+    private final WordTokenizer tokenizer = new WordTokenizer(); // Splits documents into words.
+    private final TermTable documentTerms = new TermTable(); // Distinct words of the current document.
+    private final TermTable corpusTerms = new TermTable(); // Distinct words of the whole corpus.
+    private final IntList scratch = new IntList(); // Term IDs of the current document.
+    private int[] documentFrequency = new int[1024]; // Number of documents containing each corpus term.
+    private long documentCount; // Number of documents added.
+
+    // Entry point for "--build-idf <corpus directory> <index file>".
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: --build-idf <corpus directory> <index file>");
+            System.exit(2);
+        }
+        Path corpus = Paths.get(args[1]);
+        Path index = Paths.get(args[2]);
+        long start = System.nanoTime();
+        IdfIndexBuilder builder = new IdfIndexBuilder();
+        try (Stream<Path> files = Files.walk(corpus)) {
+            Iterator<Path> documents = files.filter(Files::isRegularFile).iterator();
+            while (documents.hasNext()) {
+                builder.addFile(documents.next());
+            }
+        }
+        builder.write(index);
+        System.out.println("Indexed " + builder.documentCount + " documents, " + builder.corpusTerms.size() + " terms in "
+            + LatencyHistogram.millis(System.nanoTime() - start) + " -> " + index);
+    }
+
+    // Adds one file as a document. Files that are empty or larger than 2 GB are skipped.
+    public void addFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0 || size > Integer.MAX_VALUE) {
+                System.err.println("Skipping " + file + " (" + size + " bytes)");
+                return;
+            }
+            // One char per byte is enough: only ASCII letters and whitespace matter to the tokenizer.
+            addDocument(new ByteText(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)));
+        }
+    }
+
+    // Adds one document: every distinct word in it counts once.
+    public void addDocument(CharSequence text) {
+        documentTerms.clear();
+        scratch.clear();
+        tokenizer.tokenize(text, 0, text.length(), documentTerms, scratch);
+        for (int id = 0; id < documentTerms.size(); id++) {
+            int corpusId = corpusTerms.add(documentTerms, id);
+            if (corpusId >= documentFrequency.length) {
+                documentFrequency = Arrays.copyOf(documentFrequency, documentFrequency.length * 2);
+            }
+            documentFrequency[corpusId]++;
+        }
+        documentCount++;
+    }
+
+    // Writes the index with its terms sorted. The file is written under a temporary name and then moved into
+    // place, so processes that map the old index never see a partial one.
+    public void write(Path file) throws IOException {
+        int termCount = corpusTerms.size();
+        String[] sorted = new String[termCount];
+        int termBytes = 0;
+        for (int id = 0; id < termCount; id++) {
+            sorted[id] = corpusTerms.term(id);
+            termBytes += sorted[id].length();
+        }
+        Integer[] order = new Integer[termCount]; // Term IDs in sorted order.
+        for (int id = 0; id < termCount; id++) {
+            order[id] = id;
+        }
+        Arrays.sort(order, (a, b) -> sorted[a].compareTo(sorted[b]));
+
+        int idfStart = IdfIndex.HEADER_SIZE + 4 * (termCount + 1);
+        int termsStart = idfStart + 4 * termCount;
+        ByteBuffer buffer = ByteBuffer.allocate(termsStart + termBytes);
+        buffer.putInt(IdfIndex.MAGIC).putInt(termCount).putLong(documentCount);
+        int offset = 0;
+        for (int i = 0; i < termCount; i++) {
+            String term = sorted[order[i]];
+            buffer.putInt(IdfIndex.HEADER_SIZE + 4 * i, offset);
+            buffer.putFloat(idfStart + 4 * i, IdfIndex.idf(documentCount, documentFrequency[order[i]]));
+            for (int k = 0; k < term.length(); k++) {
+                buffer.put(termsStart + offset + k, (byte) term.charAt(k)); // Terms only hold the letters a-z.
+            }
+            offset += term.length();
+        }
+        buffer.putInt(IdfIndex.HEADER_SIZE + 4 * termCount, offset);
+        buffer.position(0);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "index", ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
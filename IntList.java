@@ -0,0 +1,50 @@
+import java.util.Arrays; // For growing the backing array.
+
+// This class is a small growable list of primitive ints.
+// It is used instead of List<Integer> so hot loops don't box every value.
+public class IntList {
+
+    private int[] values; // Backing array holding the list elements.
+    private int size; // Number of elements currently stored.
+
+    // Creates an empty list with a small default capacity.
+    public IntList() {
+        this(16);
+    }
+
+    // Creates an empty list with room for the given number of elements.
+    public IntList(int initialCapacity) {
+        values = new int[Math.max(1, initialCapacity)];
+    }
+
+    // Appends a value to the end of the list, growing the array when it is full.
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2); // Double the capacity.
+        }
+        values[size++] = value;
+    }
+
+    // Returns the value stored at the given index.
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[index];
+    }
+
+    // Returns the number of values in the list.
+    public int size() {
+        return size;
+    }
+
+    // Removes all values but keeps the allocated capacity for reuse.
+    public void clear() {
+        size = 0;
+    }
+
+    // Returns a copy of the stored values as a plain array.
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.concurrent.atomic.AtomicLong; // Thread-safe totals.
+import java.util.concurrent.atomic.AtomicLongArray; // Thread-safe bucket counts.
+
+// This class records latencies in nanoseconds into logarithmic buckets so percentiles can be reported
+// with a fixed, small amount of memory no matter how many values are recorded.
+// Every power of two is split into 16 sub-buckets, so a reported percentile is within about 6% of the real value.
+// It is safe to record from many threads at once.
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4; // 16 sub-buckets per power of two.
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS); // Number of values in each bucket.
+    private final AtomicLong count = new AtomicLong(); // Number of recorded values.
+    private final AtomicLong total = new AtomicLong(); // Sum of all recorded values.
+    private final AtomicLong max = new AtomicLong(); // Largest recorded value.
+
+    // Records one latency in nanoseconds. Negative values are treated as zero.
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(nanos));
+        count.incrementAndGet();
+        total.addAndGet(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    // Returns the number of recorded values.
+    public long count() {
+        return count.get();
+    }
+
+    // Returns the mean of the recorded values in nanoseconds (0 if nothing was recorded).
+    public long mean() {
+        long n = count.get();
+        return n == 0 ? 0 : total.get() / n;
+    }
+
+    // Returns the largest recorded value in nanoseconds.
+    public long max() {
+        return max.get();
+    }
+
+    // Returns an upper bound of the given percentile (0 to 100) in nanoseconds.
+    public long percentile(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(n * percentile / 100.0)); // 1-based rank of the wanted value.
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBound(bucket), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    // Returns a one-line summary such as "n=120 mean=3.1 ms p50=2.9 ms p90=4.8 ms p99=7.0 ms max=9.2 ms".
+    public String summary() {
+        return "n=" + count() + " mean=" + millis(mean()) + " p50=" + millis(percentile(50)) + " p90=" + millis(percentile(90))
+            + " p99=" + millis(percentile(99)) + " max=" + millis(max());
+    }
+
+    // Formats nanoseconds as milliseconds with one decimal.
+    public static String millis(long nanos) {
+        return String.format("%.1f ms", nanos / 1_000_000.0);
+    }
+
+    // Maps a value to its bucket: values below 16 get their own bucket, larger ones share 16 buckets per power of two.
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // Position of the highest set bit (>= 4).
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS; // The next 4 bits below the highest one.
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // Returns the largest value that falls in the given bucket.
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,202 @@
+import java.util.ArrayList; // Sentences in document order.
+import java.util.Arrays; // For growing the frequency table.
+import java.util.List; // Sentences in document order.
+
+// This class keeps word frequencies, sentences and the word count of a text up to date while it is being edited.
+// After each edit only the sentences around the edited range are segmented and tokenized again; everything else
+// is reused. Scores depend on document-wide frequencies, so summary() rescores every sentence, but it does so from
+// the cached term IDs of each sentence, without tokenizing anything. Ranking and selection are those of the
+// SummaryGenerator it was created with, including its IDF index, so a live summary matches generateSummary().
+// It is not thread-safe; the GUI calls it from the Event Dispatch Thread only.
+public class LiveSummarizer {
+
+    private final SummaryGenerator summaryGenerator; // Ranks and selects the sentences of summaries.
+    private final SentenceSegmenter segmenter; // Splits edited regions into sentences.
+    private final IdfIndex idfIndex; // Corpus IDF weights for TF-IDF scoring, or null to score by raw frequency.
+    private final WordTokenizer tokenizer = new WordTokenizer(); // Tokenizes edited sentences.
+    private final WordProcessor wordProcessor = new WordProcessor(); // Counts the words of edited sentences.
+    private final TermTable terms = new TermTable(); // All words seen since the last reset.
+    private final IntList scratch = new IntList(); // Term IDs of the sentence being tokenized.
+    private final IntList regionStarts = new IntList(); // Sentence spans of the edited region.
+    private final IntList regionEnds = new IntList();
+    private final List<Sentence> sentences = new ArrayList<>(); // Current sentences in document order.
+    private int[] wordFrequency = new int[1024]; // Current frequency of each term ID.
+    private long[] termIdf = new long[1024]; // Fixed-point IDF of each term ID (see IdfIndex.termIdf), looked up once.
+    private int termIdfCount; // Number of term IDs whose IDF is in termIdf.
+    private int wordCount; // Current number of whitespace-separated words.
+
+    // Creates a live summarizer that segments, ranks and selects like the given generator.
+    public LiveSummarizer(SummaryGenerator summaryGenerator) {
+        this.summaryGenerator = summaryGenerator;
+        this.segmenter = summaryGenerator.getSegmenter();
+        this.idfIndex = summaryGenerator.getIdfIndex();
+    }
+
+    // Rebuilds everything from scratch for the given text.
+    public void reset(CharSequence text) {
+        sentences.clear();
+        terms.clear(); // Words of the previous text are not kept around.
+        Arrays.fill(wordFrequency, 0);
+        termIdfCount = 0;
+        wordCount = 0;
+        insertSentences(text, 0, text.length(), 0);
+    }
+
+    // Updates the state after an edit. 'text' is the text after the edit, in which 'removedLength' characters
+    // at 'offset' were replaced by 'insertedLength' new ones.
+    public void edit(CharSequence text, int offset, int removedLength, int insertedLength) {
+        int delta = insertedLength - removedLength;
+        int oldEditEnd = offset + removedLength; // End of the edited range before the edit.
+
+        // The affected sentences are those overlapping the edit plus one neighbour on each side, because an edit
+        // can move the boundaries next to it (e.g. deleting a period merges two sentences).
+        int first = Math.max(0, firstEndingAtOrAfter(offset) - 1);
+        int last = Math.min(sentences.size() - 1, lastStartingAtOrBefore(oldEditEnd) + 1);
+
+        // The region to redo runs from the end of the last untouched sentence before it
+        // to the start of the first untouched sentence after it.
+        int regionStart = first > 0 ? sentences.get(first - 1).end : 0;
+        int regionEnd = last + 1 < sentences.size() ? sentences.get(last + 1).start + delta : text.length();
+
+        // Forget the affected sentences and shift the ones after them.
+        for (int i = first; i <= last; i++) {
+            removeCounts(sentences.get(i));
+        }
+        sentences.subList(first, Math.max(first, last + 1)).clear();
+        for (int i = first; i < sentences.size(); i++) {
+            sentences.get(i).start += delta;
+            sentences.get(i).end += delta;
+        }
+
+        insertSentences(text, regionStart, regionEnd, first);
+    }
+
+    // Returns the current number of words.
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    // Returns the current number of sentences.
+    public int getSentenceCount() {
+        return sentences.size();
+    }
+
+    // Scores every sentence from its cached term IDs and returns the summary of the current text.
+    public String summary(CharSequence text, SummaryOptions options) {
+        TokenizedText tokenized = tokenized();
+        long[] termWeights = idfIndex == null || options.getRanker() != SummaryRanker.FREQUENCY ? null : termWeights();
+        long[] scores = summaryGenerator.rank(tokenized, termWeights, options, null, new SummaryProgress(SummaryListener.NONE));
+        StringBuilder summary = new StringBuilder();
+        for (int i : SummaryGenerator.select(tokenized, scores, options)) {
+            if (summary.length() > 0) {
+                summary.append(' ');
+            }
+            summary.append(text, sentences.get(i).start, sentences.get(i).end);
+        }
+        return summary.toString();
+    }
+
+    // Puts the cached term IDs of all sentences back to back, as if the whole text had just been tokenized.
+    private TokenizedText tokenized() {
+        int[] sentenceTermStarts = new int[sentences.size() + 1];
+        for (int i = 0; i < sentences.size(); i++) {
+            sentenceTermStarts[i + 1] = sentenceTermStarts[i] + sentences.get(i).termIds.length;
+        }
+        int[] termIds = new int[sentenceTermStarts[sentences.size()]];
+        for (int i = 0; i < sentences.size(); i++) {
+            int[] ids = sentences.get(i).termIds;
+            System.arraycopy(ids, 0, termIds, sentenceTermStarts[i], ids.length);
+        }
+        return new TokenizedText(terms, termIds, sentenceTermStarts, Arrays.copyOf(wordFrequency, terms.size()));
+    }
+
+    // Returns the TF-IDF weight of every term, like IdfIndex.termWeights(), looking up only terms not seen before.
+    private long[] termWeights() {
+        if (terms.size() > termIdf.length) {
+            termIdf = Arrays.copyOf(termIdf, Math.max(terms.size(), termIdf.length * 2));
+        }
+        for (; termIdfCount < terms.size(); termIdfCount++) {
+            termIdf[termIdfCount] = idfIndex.termIdf(terms, termIdfCount);
+        }
+        long[] weights = new long[terms.size()];
+        for (int id = 0; id < weights.length; id++) {
+            weights[id] = wordFrequency[id] * termIdf[id];
+        }
+        return weights;
+    }
+
+    // Segments and tokenizes text[from, to) and inserts its sentences at position 'index'.
+    private void insertSentences(CharSequence text, int from, int to, int index) {
+        regionStarts.clear();
+        regionEnds.clear();
+        int count = segmenter.segment(text, from, to, regionStarts, regionEnds);
+        List<Sentence> added = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Sentence sentence = new Sentence();
+            sentence.start = regionStarts.get(i);
+            sentence.end = regionEnds.get(i);
+            scratch.clear();
+            tokenizer.tokenize(text, sentence.start, sentence.end, terms, scratch);
+            sentence.termIds = scratch.toArray();
+            sentence.wordCount = wordProcessor.countWords(text, sentence.start, sentence.end);
+            addCounts(sentence);
+            added.add(sentence);
+        }
+        sentences.addAll(index, added);
+    }
+
+    private void addCounts(Sentence sentence) {
+        if (terms.size() > wordFrequency.length) {
+            wordFrequency = Arrays.copyOf(wordFrequency, Math.max(terms.size(), wordFrequency.length * 2));
+        }
+        for (int id : sentence.termIds) {
+            wordFrequency[id]++;
+        }
+        wordCount += sentence.wordCount;
+    }
+
+    private void removeCounts(Sentence sentence) {
+        for (int id : sentence.termIds) {
+            wordFrequency[id]--;
+        }
+        wordCount -= sentence.wordCount;
+    }
+
+    // Returns the index of the first sentence ending at or after 'offset' (sentences.size() if there is none).
+    private int firstEndingAtOrAfter(int offset) {
+        int low = 0;
+        int high = sentences.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sentences.get(middle).end < offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Returns the index of the last sentence starting at or before 'offset' (-1 if there is none).
+    private int lastStartingAtOrBefore(int offset) {
+        int low = 0;
+        int high = sentences.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sentences.get(middle).start <= offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low - 1;
+    }
+
+    // One sentence of the live text.
+    private static class Sentence {
+        int start; // Offset of the first character.
+        int end; // Offset just past the last character.
+        int[] termIds; // Term IDs of its words.
+        int wordCount; // Number of whitespace-separated words.
+    }
+}
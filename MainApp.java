@@ -1,7 +1,27 @@
 // Main class that starts the application and displays the GUI.
+// With "--batch" as the first argument it summarizes files headlessly instead (see BatchSummarizer),
+// and with "--server" it serves summaries over HTTP on localhost (see SummaryServer).
+// "--build-idf <corpus directory> <index file>" builds the IDF index used for TF-IDF scoring (see IdfIndexBuilder).
 public class MainApp {
     // Main method to start the program
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        // Headless batch mode: no window is opened.
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchSummarizer.main(args);
+            return;
+        }
+        // Headless server mode: no window is opened.
+        if (args.length > 0 && args[0].equals("--server")) {
+            SummaryServer.main(args);
+            return;
+        }
+
+        // Index building: no window is opened.
+        if (args.length > 0 && args[0].equals("--build-idf")) {
+            IdfIndexBuilder.main(args);
+            return;
+        }
+
         // This ensures the GUI is created and shown on the Event Dispatch Thread
         javax.swing.SwingUtilities.invokeLater(() -> {
             // Create an instance of the TextSummarizerApp class
@@ -0,0 +1,191 @@
+import java.util.ArrayList; // For collecting the chunk tasks.
+import java.util.List; // Task and result lists.
+import java.util.concurrent.Callable; // A unit of work run on the pool.
+import java.util.concurrent.CancellationException; // Thrown when the calling thread is interrupted.
+import java.util.concurrent.ExecutionException; // Wraps failures of chunk tasks.
+import java.util.concurrent.ForkJoinPool; // The pool the chunks run on.
+import java.util.concurrent.Future; // Results of the chunk tasks.
+
+// This class runs the tokenizing and scoring stages of SummaryGenerator on a ForkJoinPool.
+// The sentences are cut into chunks of roughly equal size at sentence boundaries. Each chunk is tokenized into
+// its own TermTable and frequency table; the tables are then merged in chunk order, which gives every word the same
+// term ID it would get on a single thread, so the summary is identical to the sequential one.
+public class ParallelStages {
+
+    // Chunks per pool thread, so a slow chunk does not leave the other threads idle.
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    // Tokenizes the given sentence spans of the text on the pool.
+    // Chunks check 'progress' for cancellation; updates are only reported between stages, on the calling thread.
+    public static TokenizedText tokenize(ForkJoinPool pool, CharSequence text, IntList sentenceStarts, IntList sentenceEnds, int sentenceCount,
+                                         SummaryProgress progress) {
+        int[] bounds = chunkBounds(pool, sentenceStarts, sentenceEnds, sentenceCount);
+        int chunkCount = bounds.length - 1;
+
+        // Tokenize every chunk into thread-local tables.
+        List<Callable<Chunk>> tasks = new ArrayList<>();
+        for (int c = 0; c < chunkCount; c++) {
+            int from = bounds[c];
+            int to = bounds[c + 1];
+            tasks.add(() -> Chunk.tokenize(text, sentenceStarts, sentenceEnds, from, to, progress));
+        }
+        List<Chunk> chunks = runAll(pool, tasks);
+
+        // Merge the chunk tables in order and lay out where each chunk's term IDs go.
+        TermTable terms = new TermTable();
+        int[][] remaps = new int[chunkCount][]; // remaps[c][local ID] = global ID.
+        int[] chunkTermOffsets = new int[chunkCount + 1];
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks.get(c);
+            remaps[c] = new int[chunk.terms.size()];
+            for (int id = 0; id < remaps[c].length; id++) {
+                remaps[c][id] = terms.add(chunk.terms, id);
+            }
+            chunkTermOffsets[c + 1] = chunkTermOffsets[c] + chunk.termIds.size();
+        }
+        int[] wordFrequency = new int[terms.size()];
+        int[] sentenceTermStarts = new int[sentenceCount + 1];
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks.get(c);
+            for (int id = 0; id < remaps[c].length; id++) {
+                wordFrequency[remaps[c][id]] += chunk.wordFrequency[id];
+            }
+            int position = chunkTermOffsets[c];
+            for (int i = bounds[c]; i < bounds[c + 1]; i++) {
+                sentenceTermStarts[i] = position;
+                position += chunk.sentenceLengths[i - bounds[c]];
+            }
+        }
+        sentenceTermStarts[sentenceCount] = chunkTermOffsets[chunkCount];
+
+        // Translate the local term IDs to global ones, every chunk in parallel.
+        int[] termIds = new int[chunkTermOffsets[chunkCount]];
+        List<Callable<Void>> copies = new ArrayList<>();
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks.get(c);
+            int[] remap = remaps[c];
+            int offset = chunkTermOffsets[c];
+            copies.add(() -> {
+                for (int k = 0; k < chunk.termIds.size(); k++) {
+                    termIds[offset + k] = remap[chunk.termIds.get(k)];
+                }
+                return null;
+            });
+        }
+        runAll(pool, copies);
+        return new TokenizedText(terms, termIds, sentenceTermStarts, wordFrequency);
+    }
+
+    // Scores every sentence on the pool, writing the results into 'scores'.
+    // 'termWeights' are the TF-IDF weights of the terms, or null to score by raw word frequency.
+    public static void score(ForkJoinPool pool, TokenizedText tokenized, long[] termWeights, long[] scores, SummaryProgress progress) {
+        int[] bounds = evenBounds(pool, tokenized.sentenceCount());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int c = 0; c + 1 < bounds.length; c++) {
+            int from = bounds[c];
+            int to = bounds[c + 1];
+            tasks.add(() -> {
+                progress.checkCancelled();
+                SummaryGenerator.scoreSentences(tokenized, termWeights, scores, from, to);
+                return null;
+            });
+        }
+        runAll(pool, tasks);
+    }
+
+    // Splits the sentences into chunks holding roughly the same number of characters.
+    // Returns the chunk boundaries as sentence indices: chunk c is sentences [bounds[c], bounds[c + 1]).
+    private static int[] chunkBounds(ForkJoinPool pool, IntList sentenceStarts, IntList sentenceEnds, int sentenceCount) {
+        int chunkCount = Math.max(1, Math.min(sentenceCount, pool.getParallelism() * CHUNKS_PER_THREAD));
+        long totalChars = 0;
+        for (int i = 0; i < sentenceCount; i++) {
+            totalChars += sentenceEnds.get(i) - sentenceStarts.get(i);
+        }
+        long target = Math.max(1, totalChars / chunkCount); // Characters per chunk.
+
+        IntList bounds = new IntList(chunkCount + 1);
+        bounds.add(0);
+        long chars = 0;
+        for (int i = 0; i < sentenceCount; i++) {
+            chars += sentenceEnds.get(i) - sentenceStarts.get(i);
+            if (chars >= target && i + 1 < sentenceCount) {
+                bounds.add(i + 1); // Close the chunk after this sentence.
+                chars = 0;
+            }
+        }
+        bounds.add(sentenceCount);
+        return bounds.toArray();
+    }
+
+    // Splits [0, count) into chunks of equal length: several per thread on a pool, or a single one if the pool is null.
+    // Returns the chunk boundaries: chunk c is [bounds[c], bounds[c + 1]).
+    static int[] evenBounds(ForkJoinPool pool, int count) {
+        int chunkCount = pool == null ? 1 : Math.max(1, Math.min(count, pool.getParallelism() * CHUNKS_PER_THREAD));
+        int[] bounds = new int[chunkCount + 1];
+        for (int c = 0; c <= chunkCount; c++) {
+            bounds[c] = (int) ((long) count * c / chunkCount);
+        }
+        return bounds;
+    }
+
+    // Runs the tasks on the pool, or one after another on the calling thread if the pool is null,
+    // and returns their results in task order.
+    static <T> List<T> runAll(ForkJoinPool pool, List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (pool == null) {
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e); // The stage tasks throw no checked exceptions.
+                }
+            }
+            return results;
+        }
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Keep the interrupt visible to the caller.
+            throw new CancellationException("Interrupted while waiting for parallel stage");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        return results;
+    }
+
+    // The tokens of one chunk of sentences, with term IDs local to the chunk's own table.
+    private static class Chunk {
+        final TermTable terms = new TermTable();
+        final IntList termIds = new IntList();
+        int[] sentenceLengths; // Number of terms in each sentence of the chunk.
+        int[] wordFrequency; // Local frequency of each local term ID.
+
+        static Chunk tokenize(CharSequence text, IntList sentenceStarts, IntList sentenceEnds, int from, int to, SummaryProgress progress) {
+            Chunk chunk = new Chunk();
+            WordTokenizer tokenizer = new WordTokenizer();
+            chunk.sentenceLengths = new int[to - from];
+            for (int i = from; i < to; i++) {
+                if (((i - from) & 4095) == 0) {
+                    progress.checkCancelled();
+                }
+                chunk.sentenceLengths[i - from] = tokenizer.tokenize(text, sentenceStarts.get(i), sentenceEnds.get(i), chunk.terms, chunk.termIds);
+            }
+            chunk.wordFrequency = new int[chunk.terms.size()];
+            for (int k = 0; k < chunk.termIds.size(); k++) {
+                chunk.wordFrequency[chunk.termIds.get(k)]++;
+            }
+            return chunk;
+        }
+    }
+}
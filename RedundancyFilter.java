@@ -0,0 +1,151 @@
+import java.util.Arrays; // For growing the tables.
+
+// This class rejects sentences that are near-copies of sentences already accepted.
+// Each sentence gets a MinHash signature of its set of words: SIGNATURE_SIZE independent hash functions, each
+// keeping the smallest hash of any of its words. Two sentences agree on a signature entry with probability equal
+// to the share of words they have in common (their Jaccard similarity), so the fraction of equal entries estimates
+// it. Sentences whose estimate reaches MIN_SIMILARITY count as near-duplicates.
+// To find such sentences without comparing against every accepted one, the signature is cut into BANDS bands of
+// ROWS entries and every accepted sentence is filed under each band (locality-sensitive hashing). Near-duplicates
+// almost surely share a whole band, while unrelated sentences rarely do, so a check only compares against the few
+// sentences sharing a band with it: roughly constant time, however many sentences were accepted.
+// Signatures hash the words behind the term IDs, not the IDs, so the result does not depend on the order in which
+// the TermTable first saw the words (LiveSummarizer and SummaryGenerator number them differently).
+public class RedundancyFilter {
+
+    // Estimated share of common words from which two sentences count as near-duplicates.
+    public static final double MIN_SIMILARITY = 0.7;
+
+    private static final int BANDS = 8;
+    private static final int ROWS = 4; // Signature entries per band.
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+    private static final int MIN_MATCHES = (int) Math.ceil(MIN_SIMILARITY * SIGNATURE_SIZE); // Equal entries needed.
+
+    private int[] signatures = new int[16 * SIGNATURE_SIZE]; // Signatures of the accepted sentences, back to back.
+    private int[] bandKeys = new int[16 * BANDS]; // Hash of each band of each accepted sentence.
+    private int[][] nextInBucket = new int[BANDS][16]; // Chains of each band's buckets: next entry, or -1.
+    private int[][] bucketHeads = new int[BANDS][32]; // First entry of each bucket, or -1; sized a power of two.
+    private final TermTable terms; // Words of the term IDs passed to accept().
+    private int size; // Number of accepted sentences that have words.
+    private final int[] signature = new int[SIGNATURE_SIZE]; // Signature of the sentence being checked.
+    private final int[] keys = new int[BANDS]; // Band hashes of the sentence being checked.
+
+    // Creates a filter for sentences whose term IDs refer to the given table.
+    public RedundancyFilter(TermTable terms) {
+        this.terms = terms;
+        for (int[] heads : bucketHeads) {
+            Arrays.fill(heads, -1);
+        }
+    }
+
+    // Accepts the sentence whose term IDs are termIds[from, to) unless it is a near-duplicate of an accepted one.
+    // Returns true if it was accepted. A sentence without words is always accepted and not filed: similarity is
+    // undefined for empty sets, and its signature would match that of every other sentence without words.
+    public boolean accept(int[] termIds, int from, int to) {
+        if (from == to) {
+            return true;
+        }
+        signature(termIds, from, to, signature);
+        for (int band = 0; band < BANDS; band++) {
+            keys[band] = bandKey(signature, 0, band);
+            int[] heads = bucketHeads[band];
+            for (int entry = heads[keys[band] & (heads.length - 1)]; entry >= 0; entry = nextInBucket[band][entry]) {
+                if (bandKeys[entry * BANDS + band] == keys[band] && isNearDuplicate(entry)) {
+                    return false;
+                }
+            }
+        }
+        add();
+        return true;
+    }
+
+    // Returns the number of accepted sentences that have words.
+    public int size() {
+        return size;
+    }
+
+    // Computes the MinHash signature of the words termIds[from, to) into 'signature'.
+    // Repeated words do not change it: a signature describes the set of words.
+    void signature(int[] termIds, int from, int to, int[] signature) {
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int k = from; k < to; k++) {
+            long hash = mix(terms.hash(termIds[k]));
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int value = (h1 + i * h2) & Integer.MAX_VALUE; // Hash function i (double hashing).
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+    }
+
+    // Checks whether the signature being tested agrees with accepted entry 'entry' on enough positions.
+    private boolean isNearDuplicate(int entry) {
+        int offset = entry * SIGNATURE_SIZE;
+        int matches = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (signatures[offset + i] == signature[i]) {
+                matches++;
+            }
+        }
+        return matches >= MIN_MATCHES;
+    }
+
+    // Spreads the hash of a word over 64 bits (MurmurHash3 finalizer), so similar hashes get unrelated ones.
+    private static long mix(int wordHash) {
+        long h = (wordHash + 1) * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    // Hashes the ROWS entries of one band of the signature starting at signatures[offset].
+    private static int bandKey(int[] signatures, int offset, int band) {
+        int h = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            h = 31 * h + signatures[offset + i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // Stores the signature just checked and files it under each of its bands.
+    private void add() {
+        int entry = size++;
+        if (size > nextInBucket[0].length) {
+            signatures = Arrays.copyOf(signatures, signatures.length * 2);
+            bandKeys = Arrays.copyOf(bandKeys, bandKeys.length * 2);
+            for (int band = 0; band < BANDS; band++) {
+                nextInBucket[band] = Arrays.copyOf(nextInBucket[band], nextInBucket[band].length * 2);
+            }
+        }
+        System.arraycopy(signature, 0, signatures, entry * SIGNATURE_SIZE, SIGNATURE_SIZE);
+        System.arraycopy(keys, 0, bandKeys, entry * BANDS, BANDS);
+        if (size * 2 > bucketHeads[0].length) {
+            rehash(bucketHeads[0].length * 2); // Keep chains short: at most one entry per two buckets on average.
+        } else {
+            for (int band = 0; band < BANDS; band++) {
+                int bucket = keys[band] & (bucketHeads[band].length - 1);
+                nextInBucket[band][entry] = bucketHeads[band][bucket];
+                bucketHeads[band][bucket] = entry;
+            }
+        }
+    }
+
+    // Rebuilds the bucket chains of all accepted entries with a new table size.
+    private void rehash(int tableSize) {
+        for (int band = 0; band < BANDS; band++) {
+            int[] heads = new int[tableSize];
+            Arrays.fill(heads, -1);
+            for (int entry = 0; entry < size; entry++) {
+                int bucket = bandKeys[entry * BANDS + band] & (tableSize - 1);
+                nextInBucket[band][entry] = heads[bucket];
+                heads[bucket] = entry;
+            }
+            bucketHeads[band] = heads;
+        }
+    }
+}
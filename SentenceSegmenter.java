@@ -0,0 +1,152 @@
+import java.util.Arrays; // For wrapping the default abbreviations.
+import java.util.Collection; // For passing a custom set of abbreviations.
+
+// This class splits text into sentences in a single linear pass.
+// Instead of creating substrings it reports each sentence as a (start, end) offset pair into the original text,
+// so large documents are never copied. A sentence ends at '.', '?' or '!' (plus any closing quotes or brackets)
+// followed by whitespace or the end of the text, unless the period belongs to a known abbreviation such as "Dr.".
+public class SentenceSegmenter {
+
+    // Abbreviations that do not end a sentence by default (the titles the original regex skipped).
+    public static final String[] DEFAULT_ABBREVIATIONS = {"Mr", "Mrs", "Dr"};
+
+    private final String[] abbreviations; // Words whose trailing period is not a sentence boundary.
+    private final int maxAbbreviationLength; // Length of the longest abbreviation, to skip most lookups.
+
+    // Creates a segmenter using the default abbreviations.
+    public SentenceSegmenter() {
+        this(Arrays.asList(DEFAULT_ABBREVIATIONS));
+    }
+
+    // Creates a segmenter that treats the given words (case-sensitive, without the period) as abbreviations.
+    public SentenceSegmenter(Collection<String> abbreviations) {
+        this.abbreviations = abbreviations.toArray(new String[0]);
+        int max = 0;
+        for (String abbreviation : this.abbreviations) {
+            max = Math.max(max, abbreviation.length());
+        }
+        this.maxAbbreviationLength = max;
+    }
+
+    // Finds the sentences of text[from, to) and appends their start and end offsets to 'starts' and 'ends'.
+    // Each span excludes surrounding whitespace and keeps its closing punctuation. Returns the number of sentences found.
+    public int segment(CharSequence text, int from, int to, IntList starts, IntList ends) {
+        boolean utf8 = text instanceof ByteText; // Non-ASCII characters arrive as their UTF-8 bytes.
+        int count = 0;
+        int sentenceStart = skipWhitespace(text, from, to); // Start of the sentence being scanned.
+        int i = sentenceStart;
+        while (i < to) {
+            char c = text.charAt(i);
+            if (!isTerminator(c)) {
+                i++;
+                continue;
+            }
+
+            // Include runs like "?!" or "..." and closing quotes/brackets in the sentence.
+            int end = i + 1;
+            while (end < to) {
+                int length = isTerminator(text.charAt(end)) ? 1 : closerLength(text, end, to, utf8);
+                if (length == 0) {
+                    break;
+                }
+                end += length;
+            }
+
+            // Only a terminator followed by whitespace (or the end of the text) is a boundary.
+            boolean boundary = end == to || WordTokenizer.isWhitespace(text.charAt(end));
+            if (boundary && c == '.' && end == i + 1 && isAbbreviation(text, sentenceStart, i)) {
+                boundary = false; // "Dr. Smith" must stay in one sentence.
+            }
+            if (boundary) {
+                starts.add(sentenceStart);
+                ends.add(end);
+                count++;
+                sentenceStart = skipWhitespace(text, end, to);
+                i = sentenceStart;
+            } else {
+                i = end;
+            }
+        }
+
+        // Trailing text without a terminator still forms a final sentence.
+        if (sentenceStart < to) {
+            int end = to;
+            while (WordTokenizer.isWhitespace(text.charAt(end - 1))) {
+                end--;
+            }
+            starts.add(sentenceStart);
+            ends.add(end);
+            count++;
+        }
+        return count;
+    }
+
+    // Checks whether the word directly before the period at 'dot' is one of the abbreviations.
+    // Only ASCII letters count as part of the word, so a ByteText of UTF-8 bytes gives the same answer as the decoded text.
+    private boolean isAbbreviation(CharSequence text, int sentenceStart, int dot) {
+        int wordStart = dot;
+        while (wordStart > sentenceStart && dot - wordStart <= maxAbbreviationLength
+                && isAsciiLetter(text.charAt(wordStart - 1))) {
+            wordStart--;
+        }
+        int length = dot - wordStart;
+        if (length == 0 || length > maxAbbreviationLength) {
+            return false;
+        }
+        if (wordStart > sentenceStart && isAsciiLetter(text.charAt(wordStart - 1))) {
+            return false; // The word is longer than any abbreviation.
+        }
+        for (String abbreviation : abbreviations) {
+            if (abbreviation.length() == length && regionEquals(text, wordStart, abbreviation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Compares text[offset, offset + word.length()) with the given word without creating a substring.
+    private static boolean regionEquals(CharSequence text, int offset, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (text.charAt(offset + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the first index at or after 'from' that is not whitespace (or 'to' if there is none).
+    private static int skipWhitespace(CharSequence text, int from, int to) {
+        while (from < to && WordTokenizer.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    // Sentence-ending punctuation.
+    private static boolean isTerminator(char c) {
+        return c == '.' || c == '?' || c == '!';
+    }
+
+    // Letters a-z and A-Z.
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    // Returns the number of chars taken by the closing quote or bracket at text[i], or 0 if there is none.
+    // Closers may follow a terminator and still belong to the sentence, e.g. the quote in: He said "hi."
+    // In UTF-8 bytes the curly quotes \u201D and \u2019 are the three bytes E2 80 9D and E2 80 99.
+    private static int closerLength(CharSequence text, int i, int to, boolean utf8) {
+        char c = text.charAt(i);
+        if (c == '"' || c == '\'' || c == ')' || c == ']') {
+            return 1;
+        }
+        if (!utf8) {
+            return c == '\u201D' || c == '\u2019' ? 1 : 0;
+        }
+        if (c == 0xE2 && i + 2 < to && text.charAt(i + 1) == 0x80) {
+            char last = text.charAt(i + 2);
+            return last == 0x9D || last == 0x99 ? 3 : 0;
+        }
+        return 0;
+    }
+}
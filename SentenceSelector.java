@@ -0,0 +1,242 @@
+import java.util.Arrays; // For sorting the selected indices back into document order.
+import java.util.function.IntPredicate; // Decides whether a candidate sentence may be taken.
+
+// This class picks the best sentences by score and returns their indices in document order.
+// Sentences are identified by index, so repeated sentences are kept apart. A higher score ranks first;
+// equal scores are broken in favour of the earlier sentence.
+public class SentenceSelector {
+
+    // Returns the indices of the k highest-scoring sentences among the first 'count', sorted in document order.
+    // A min-heap of size k holds the best sentences seen so far, so the cost is O(n log k).
+    public static int[] selectTop(long[] scores, int count, int k) {
+        k = Math.min(k, count);
+        if (k <= 0) {
+            return new int[0];
+        }
+        IndexHeap heap = new IndexHeap(scores, k, false); // The root is the worst sentence kept so far.
+        for (int i = 0; i < count; i++) {
+            if (heap.size() < k) {
+                heap.push(i);
+            } else if (ranksBefore(scores, i, heap.peek())) {
+                heap.replaceTop(i); // Sentence i beats the weakest sentence kept so far.
+            }
+        }
+        int[] selected = heap.toArray();
+        Arrays.sort(selected); // Restore document order.
+        return selected;
+    }
+
+    // Like selectTop, but visits the sentences in rank order and skips every sentence 'accept' rejects (for
+    // example, near-duplicates of sentences taken before, see RedundancyFilter), until k sentences are taken.
+    // 'accept' is asked about each candidate once, best first; it costs O(n + k' log n) for k' candidates visited.
+    public static int[] selectTop(long[] scores, int count, int k, IntPredicate accept) {
+        IndexHeap heap = IndexHeap.heapify(scores, count, true); // The root is the best remaining sentence.
+        IntList selected = new IntList();
+        while (selected.size() < k && heap.size() > 0) {
+            int sentence = heap.poll();
+            if (accept.test(sentence)) {
+                selected.add(sentence);
+            }
+        }
+        int[] result = selected.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    // Returns the highest-ranked sentences whose word counts fit together in 'budget', sorted in document order.
+    // Sentences are visited in rank order through a max-heap built in O(n); a sentence that does not fit is skipped
+    // and the search stops as soon as the budget is used up.
+    public static int[] selectWithinBudget(long[] scores, int count, int[] sentenceWords, int budget) {
+        return selectWithinBudget(scores, count, sentenceWords, budget, sentence -> true);
+    }
+
+    // Same as above, also skipping every sentence 'accept' rejects. Only sentences that fit are offered to it.
+    public static int[] selectWithinBudget(long[] scores, int count, int[] sentenceWords, int budget, IntPredicate accept) {
+        IndexHeap heap = IndexHeap.heapify(scores, count, true); // The root is the best remaining sentence.
+        IntList selected = new IntList();
+        int remaining = budget;
+        while (remaining > 0 && heap.size() > 0) {
+            int sentence = heap.poll();
+            if (sentenceWords[sentence] <= remaining && accept.test(sentence)) {
+                selected.add(sentence);
+                remaining -= sentenceWords[sentence];
+            }
+        }
+        int[] result = selected.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    // This class keeps the k best sentences of a stream whose scores are not held in memory.
+    // Each kept sentence occupies a slot (0..k-1); callers store per-sentence data, such as file offsets,
+    // in their own arrays indexed by that slot. The cost per offered sentence is O(log k).
+    public static class StreamingTop {
+        private final long[] slotScores; // Score of the sentence in each slot.
+        private final int[] slotSentences; // Index of the sentence in each slot.
+        private final IndexHeap heap; // Occupied slots, with the weakest kept sentence at the root.
+
+        // Creates a collector that keeps at most k sentences.
+        public StreamingTop(int k) {
+            slotScores = new long[k];
+            slotSentences = new int[k];
+            heap = new IndexHeap(slotScores, slotSentences, k, false);
+        }
+
+        // Offers a sentence. Returns the slot it now occupies, or -1 if it did not make the top k.
+        // Sentences must be offered in document order, so on equal scores the sentence already kept wins.
+        public int offer(int sentence, long score) {
+            int slot;
+            if (heap.size() < slotScores.length) {
+                slot = heap.size();
+                slotScores[slot] = score;
+                slotSentences[slot] = sentence;
+                heap.push(slot);
+            } else if (heap.size() > 0 && score > slotScores[heap.peek()]) {
+                slot = heap.peek(); // Evict the weakest sentence and reuse its slot.
+                slotScores[slot] = score;
+                slotSentences[slot] = sentence;
+                heap.replaceTop(slot);
+            } else {
+                slot = -1;
+            }
+            return slot;
+        }
+
+        // Returns the number of sentences kept.
+        public int size() {
+            return heap.size();
+        }
+
+        // Returns the index of the sentence stored in the given slot.
+        public int sentence(int slot) {
+            return slotSentences[slot];
+        }
+
+        // Returns the occupied slots sorted by sentence index (document order).
+        public int[] slotsInDocumentOrder() {
+            int size = heap.size();
+            long[] keys = new long[size]; // Sentence index in the high bits, slot in the low bits.
+            for (int slot = 0; slot < size; slot++) {
+                keys[slot] = ((long) slotSentences[slot] << 32) | slot;
+            }
+            Arrays.sort(keys);
+            int[] slots = new int[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = (int) keys[i];
+            }
+            return slots;
+        }
+    }
+
+    // Returns true if sentence a ranks before sentence b (higher score, or same score and earlier).
+    static boolean ranksBefore(long[] scores, int a, int b) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    // Same as above for heap entries whose document position is looked up in 'positions'.
+    private static boolean ranksBefore(long[] scores, int[] positions, int a, int b) {
+        if (positions == null) {
+            return ranksBefore(scores, a, b);
+        }
+        return scores[a] > scores[b] || (scores[a] == scores[b] && positions[a] < positions[b]);
+    }
+
+    // A binary heap of indices into 'scores', ordered by score.
+    // With 'bestOnTop' the root is the best-ranked entry, otherwise it is the worst-ranked one.
+    // Ties are broken by 'positions' (document order), or by the index itself when 'positions' is null.
+    private static class IndexHeap {
+        private final long[] scores;
+        private final int[] positions;
+        private final boolean bestOnTop;
+        private final int[] heap;
+        private int size;
+
+        IndexHeap(long[] scores, int capacity, boolean bestOnTop) {
+            this(scores, null, capacity, bestOnTop);
+        }
+
+        IndexHeap(long[] scores, int[] positions, int capacity, boolean bestOnTop) {
+            this.scores = scores;
+            this.positions = positions;
+            this.bestOnTop = bestOnTop;
+            this.heap = new int[capacity];
+        }
+
+        // Builds a heap of the indices 0..count-1 in linear time.
+        static IndexHeap heapify(long[] scores, int count, boolean bestOnTop) {
+            IndexHeap result = new IndexHeap(scores, count, bestOnTop);
+            for (int i = 0; i < count; i++) {
+                result.heap[i] = i;
+            }
+            result.size = count;
+            for (int i = count / 2 - 1; i >= 0; i--) {
+                result.siftDown(i);
+            }
+            return result;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int peek() {
+            return heap[0];
+        }
+
+        void push(int index) {
+            heap[size] = index;
+            siftUp(size++);
+        }
+
+        int poll() {
+            int top = heap[0];
+            heap[0] = heap[--size];
+            siftDown(0);
+            return top;
+        }
+
+        void replaceTop(int index) {
+            heap[0] = index;
+            siftDown(0);
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(heap, size);
+        }
+
+        // Returns true if index a belongs above index b in this heap.
+        private boolean above(int a, int b) {
+            return bestOnTop ? ranksBefore(scores, positions, a, b) : ranksBefore(scores, positions, b, a);
+        }
+
+        private void siftUp(int position) {
+            int index = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!above(index, heap[parent])) {
+                    break;
+                }
+                heap[position] = heap[parent];
+                position = parent;
+            }
+            heap[position] = index;
+        }
+
+        private void siftDown(int position) {
+            int index = heap[position];
+            int half = size >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                if (child + 1 < size && above(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!above(heap[child], index)) {
+                    break;
+                }
+                heap[position] = heap[child];
+                position = child;
+            }
+            heap[position] = index;
+        }
+    }
+}
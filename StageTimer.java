@@ -0,0 +1,68 @@
+import java.lang.management.ManagementFactory; // Gives access to the thread MX bean.
+
+// This class times the stages of one generateSummary call and records them into SummaryMetrics.
+// Every method returns at once when SummaryMetrics.ENABLED is false; because that flag is a static final constant,
+// the JIT removes the calls entirely and the disabled timer costs nothing.
+class StageTimer {
+
+    // Thread bean that reports allocated bytes per thread, or null when this JVM does not support it.
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    // Shared timer returned while metrics are disabled; it never records anything.
+    private static final StageTimer DISABLED = new StageTimer(0);
+
+    private final int chars; // Length of the input text.
+    private final long startNanos; // When the call started.
+    private final long[] stageNanos = new long[SummaryStage.values().length];
+    private final long[] stageAllocatedBytes = new long[SummaryStage.values().length];
+    private long lastNanos; // When the previous stage ended.
+    private long lastAllocatedBytes; // Allocated bytes of this thread when the previous stage ended.
+
+    private StageTimer(int chars) {
+        this.chars = chars;
+        this.startNanos = System.nanoTime();
+        this.lastNanos = startNanos;
+        this.lastAllocatedBytes = allocatedBytes();
+    }
+
+    // Starts timing a call on an input of the given length.
+    static StageTimer start(int chars) {
+        return SummaryMetrics.ENABLED ? new StageTimer(chars) : DISABLED;
+    }
+
+    // Ends the given stage; the next stage starts now. Must be called on the thread that started the timer.
+    void stageDone(SummaryStage stage) {
+        if (!SummaryMetrics.ENABLED) {
+            return;
+        }
+        long now = System.nanoTime();
+        long allocated = allocatedBytes();
+        stageNanos[stage.ordinal()] = now - lastNanos;
+        stageAllocatedBytes[stage.ordinal()] = allocated < 0 ? -1 : allocated - lastAllocatedBytes;
+        lastNanos = now;
+        lastAllocatedBytes = allocated;
+    }
+
+    // Ends the call, records it into SummaryMetrics and returns its measurements (null while metrics are disabled).
+    SummaryStats finish(int sentences, int terms) {
+        if (!SummaryMetrics.ENABLED) {
+            return null;
+        }
+        SummaryStats stats = new SummaryStats(chars, sentences, terms, lastNanos - startNanos, stageNanos, stageAllocatedBytes);
+        SummaryMetrics.global().record(stats);
+        return stats;
+    }
+
+    // Returns the bytes allocated so far by the current thread, or -1 if unknown.
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (!SummaryMetrics.ENABLED || !(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled() ? threads : null;
+    }
+}
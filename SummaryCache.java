@@ -0,0 +1,320 @@
+import java.io.IOException; // Thrown by the disk tier.
+import java.nio.charset.StandardCharsets; // Cached summaries are stored as UTF-8.
+import java.nio.file.Files; // Disk tier access.
+import java.nio.file.Path; // Location of the disk tier.
+import java.nio.file.StandardCopyOption; // For publishing disk entries atomically.
+import java.util.Iterator; // For evicting the least recently used entries.
+import java.util.LinkedHashMap; // Keeps the entries in access order.
+import java.util.Map; // Entry type of the LRU map.
+import java.util.concurrent.CancellationException; // Thrown by a computation whose thread was cancelled.
+import java.util.concurrent.CompletableFuture; // Result of a computation other threads wait for.
+import java.util.concurrent.CompletionException; // Thrown by a computation that failed.
+import java.util.concurrent.ConcurrentHashMap; // Computations in flight.
+import java.util.concurrent.atomic.AtomicLong; // Thread-safe counters.
+
+// This class caches summaries in front of a SummaryGenerator.
+// Entries are keyed by a 128-bit hash of the input text (ignoring leading and trailing whitespace, which never
+// changes the summary), the summary settings and the generator's scoring. The in-memory tier holds at most 'maxChars' characters of summaries
+// and evicts the least recently used entries first. An optional disk tier keeps one file per entry, so summaries
+// survive restarts and can be shared between batch runs.
+// Threads that miss on a key another thread is already computing wait for its result instead of computing it again.
+public class SummaryCache {
+
+    private final SummaryGenerator summaryGenerator; // Computes summaries on a miss.
+    private final long maxChars; // Memory budget: total length of the cached summaries.
+    private final Path diskDirectory; // Disk tier directory, or null for memory only.
+    private final LinkedHashMap<Key, String> entries = new LinkedHashMap<>(16, 0.75f, true); // Access-ordered LRU map.
+    private long cachedChars; // Total length of the summaries currently in memory.
+    private final ConcurrentHashMap<Key, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>(); // Misses being computed.
+
+    private final AtomicLong hits = new AtomicLong(); // Lookups answered from memory or by waiting for another thread.
+    private final AtomicLong diskHits = new AtomicLong(); // Lookups answered from the disk tier.
+    private final AtomicLong misses = new AtomicLong(); // Lookups that had to run the generator.
+    private final AtomicLong evictions = new AtomicLong(); // Entries dropped from memory to stay within budget.
+
+    // Creates a memory-only cache.
+    public SummaryCache(SummaryGenerator summaryGenerator, long maxChars) {
+        this(summaryGenerator, maxChars, null);
+    }
+
+    // Creates a cache whose entries are also stored in the given directory (created if missing).
+    public SummaryCache(SummaryGenerator summaryGenerator, long maxChars, Path diskDirectory) {
+        this.summaryGenerator = summaryGenerator;
+        this.maxChars = maxChars;
+        this.diskDirectory = diskDirectory;
+    }
+
+    // Returns the summary of the text, from the cache when possible.
+    public String generateSummary(CharSequence inputText, SummaryOptions options) {
+        return generateSummary(inputText, options, SummaryListener.NONE);
+    }
+
+    // Same as above; the listener only hears from the generator when the summary has to be computed by this thread.
+    public String generateSummary(CharSequence inputText, SummaryOptions options, SummaryListener listener) {
+        Key key = Key.of(inputText, options + "," + summaryGenerator.getScoring());
+        while (true) {
+            String summary = lookUp(key);
+            if (summary != null) {
+                return summary;
+            }
+            CompletableFuture<String> computation = new CompletableFuture<>();
+            CompletableFuture<String> running = inFlight.putIfAbsent(key, computation);
+            if (running == null) {
+                try {
+                    return compute(key, inputText, options, listener, computation);
+                } finally {
+                    inFlight.remove(key, computation); // After put(), so later threads find the entry in memory.
+                }
+            }
+            try {
+                summary = running.join();
+                hits.incrementAndGet();
+                return summary;
+            } catch (CompletionException | CancellationException e) {
+                // The other thread failed or was cancelled: look again, and compute the summary here if nobody is.
+            }
+        }
+    }
+
+    // Returns the summary held in memory for the key, counting a hit, or null if there is none.
+    private synchronized String lookUp(Key key) {
+        String summary = entries.get(key); // Also marks the entry as most recently used.
+        if (summary != null) {
+            hits.incrementAndGet();
+        }
+        return summary;
+    }
+
+    // Reads or generates the summary of a key this thread has registered in 'inFlight', caches it and hands it to
+    // the threads waiting on 'computation'.
+    private String compute(Key key, CharSequence inputText, SummaryOptions options, SummaryListener listener, CompletableFuture<String> computation) {
+        try {
+            String summary = lookUp(key); // Another thread may have finished between our lookup and registering.
+            if (summary == null) {
+                summary = readFromDisk(key);
+                if (summary != null) {
+                    diskHits.incrementAndGet();
+                } else {
+                    misses.incrementAndGet();
+                    summary = summaryGenerator.generateSummary(inputText, options, listener); // Computed outside the lock.
+                    writeToDisk(key, summary);
+                }
+                put(key, summary);
+            }
+            computation.complete(summary);
+            return summary;
+        } catch (RuntimeException | Error e) {
+            computation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Returns the number of lookups answered from memory.
+    public long getHits() {
+        return hits.get();
+    }
+
+    // Returns the number of lookups answered from the disk tier.
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    // Returns the number of lookups that ran the generator.
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // Returns the number of entries evicted from memory.
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    // Returns the fraction of lookups answered without running the generator (0 to 1).
+    public double getHitRate() {
+        long served = hits.get() + diskHits.get();
+        long total = served + misses.get();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    // Returns the number of entries and characters currently held in memory.
+    public synchronized String getSize() {
+        return entries.size() + " entries, " + cachedChars + " chars";
+    }
+
+    // Returns a one-line summary of the counters.
+    public String stats() {
+        return String.format("hits=%d diskHits=%d misses=%d evictions=%d hitRate=%.1f%% size=%s",
+            getHits(), getDiskHits(), getMisses(), getEvictions(), getHitRate() * 100, getSize());
+    }
+
+    // Adds an entry to memory and evicts the least recently used ones until the budget is respected.
+    private synchronized void put(Key key, String summary) {
+        if (summary.length() > maxChars) {
+            return; // Would evict everything else and still not fit.
+        }
+        String previous = entries.put(key, summary);
+        if (previous != null) {
+            cachedChars -= previous.length(); // Another thread computed the same entry concurrently.
+        }
+        cachedChars += summary.length();
+        Iterator<Map.Entry<Key, String>> oldest = entries.entrySet().iterator();
+        while (cachedChars > maxChars && oldest.hasNext()) {
+            cachedChars -= oldest.next().getValue().length();
+            oldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    // Returns the summary stored on disk for the key, or null if there is none.
+    private String readFromDisk(Key key) {
+        if (diskDirectory == null) {
+            return null;
+        }
+        Path file = diskFile(key);
+        try {
+            return Files.exists(file) ? new String(Files.readAllBytes(file), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            return null; // A damaged entry is treated as a miss.
+        }
+    }
+
+    // Stores the summary on disk. The file is written under a temporary name and then moved into place,
+    // so concurrent readers and crashed writers never leave a partial entry behind.
+    private void writeToDisk(Key key, String summary) {
+        if (diskDirectory == null) {
+            return;
+        }
+        Path file = diskFile(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), "entry", ".tmp");
+            Files.write(temporary, summary.getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write cache entry " + file + ": " + e); // The summary is still returned.
+        }
+    }
+
+    // Returns the disk file of a key, spread over 256 subdirectories.
+    private Path diskFile(Key key) {
+        String name = key.toHex();
+        return diskDirectory.resolve(name.substring(0, 2)).resolve(name + ".txt");
+    }
+
+    // A 128-bit content hash of the trimmed input and the summary and scoring settings: MurmurHash3 x64 128
+    // (seed 0) of their UTF-16LE bytes. Both halves come from one hash whose every output bit depends on every
+    // input bit, so no lane can be steered on its own the way a plain polynomial hash can.
+    private static final class Key {
+        private final long high;
+        private final long low;
+
+        private Key(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        // Hashes the text without its leading and trailing whitespace, its length, then the settings.
+        static Key of(CharSequence text, String settings) {
+            int start = 0;
+            int end = text.length();
+            while (start < end && WordTokenizer.isWhitespace(text.charAt(start))) {
+                start++;
+            }
+            while (end > start && WordTokenizer.isWhitespace(text.charAt(end - 1))) {
+                end--;
+            }
+            Murmur3 hash = new Murmur3();
+            hash.append(text, start, end);
+            int length = end - start;
+            hash.append((char) length); // Separates the text from the settings.
+            hash.append((char) (length >>> 16));
+            hash.append(settings, 0, settings.length());
+            return hash.finish();
+        }
+
+        String toHex() {
+            return String.format("%016x%016x", high, low);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).high == high && ((Key) other).low == low;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (high ^ (high >>> 32));
+        }
+    }
+
+    // MurmurHash3 x64 128 fed one char at a time: 8 chars make one 16-byte block of two little-endian longs.
+    private static final class Murmur3 {
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private long h1;
+        private long h2;
+        private long k1; // First half of the block being filled.
+        private long k2; // Second half of the block being filled.
+        private long chars; // Number of chars appended so far.
+
+        void append(CharSequence text, int start, int end) {
+            for (int i = start; i < end; i++) {
+                append(text.charAt(i));
+            }
+        }
+
+        void append(char c) {
+            int position = (int) (chars++ & 7); // Position of the char within the block.
+            if (position < 4) {
+                k1 |= (long) c << (16 * position);
+            } else {
+                k2 |= (long) c << (16 * (position - 4));
+                if (position == 7) {
+                    h1 ^= mixK1(k1);
+                    h1 = Long.rotateLeft(h1, 27) + h2;
+                    h1 = h1 * 5 + 0x52dce729;
+                    h2 ^= mixK2(k2);
+                    h2 = Long.rotateLeft(h2, 31) + h1;
+                    h2 = h2 * 5 + 0x38495ab5;
+                    k1 = 0;
+                    k2 = 0;
+                }
+            }
+        }
+
+        Key finish() {
+            if ((chars & 7) != 0) { // Tail of a partial block.
+                h1 ^= mixK1(k1);
+                h2 ^= mixK2(k2);
+            }
+            long bytes = chars * 2;
+            h1 ^= bytes;
+            h2 ^= bytes;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+            return new Key(h1, h2);
+        }
+
+        private static long mixK1(long k) {
+            return Long.rotateLeft(k * C1, 31) * C2;
+        }
+
+        private static long mixK2(long k) {
+            return Long.rotateLeft(k * C2, 33) * C1;
+        }
+
+        // Final avalanche step, so every input bit affects every output bit.
+        private static long fmix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
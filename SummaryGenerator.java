@@ -1,61 +1,238 @@
-import java.util.*; // Importing utility classes for data structures like Map, HashMap, ArrayList, and PriorityQueue.
+import java.io.IOException; // Thrown when an input file cannot be read.
+import java.nio.file.Path; // Location of a file to summarize.
+import java.util.ArrayList; // Holds the summaries of a batch.
+import java.util.List; // Batch inputs and outputs.
+import java.util.concurrent.ForkJoinPool; // Runs the parallel mode.
+import java.util.function.IntPredicate; // Decides whether a candidate sentence may join the summary.
 
 public class SummaryGenerator {
 
-    // This method generates a summary from the input text.
-    public String generateSummary(String inputText) {
+    // Inputs shorter than this many characters are always summarized on the calling thread.
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 20;
+
+    // Number of sentences scored between two progress updates.
+    private static final int SCORING_BLOCK = 4096;
+
+    private final SentenceSegmenter segmenter; // Splits the input into sentence spans.
+    private final ForkJoinPool pool; // Pool for the parallel mode, or null to always run sequentially.
+    private final int parallelThreshold; // Minimum input length (in characters) for the parallel mode.
+    private final IdfIndex idfIndex; // Corpus IDF weights for TF-IDF scoring, or null to score by raw frequency.
+    private final TextRankRanker textRank = new TextRankRanker(); // Ranks sentences when the options ask for TextRank.
+
+    // Creates a generator that uses the default abbreviations when splitting sentences.
+    // Like the other constructors without an IdfIndex, it scores with the index named by -Dsummarizer.idf, if any.
+    public SummaryGenerator() {
+        this(new SentenceSegmenter());
+    }
+
+    // Creates a generator with a custom sentence segmenter (for example, with extra abbreviations).
+    public SummaryGenerator(SentenceSegmenter segmenter) {
+        this(segmenter, null, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    // Creates a generator that tokenizes and scores inputs of at least 'parallelThreshold' characters on the pool.
+    // The summaries are identical to the sequential ones.
+    public SummaryGenerator(SentenceSegmenter segmenter, ForkJoinPool pool, int parallelThreshold) {
+        this(segmenter, pool, parallelThreshold, IdfIndex.fromSystemProperty());
+    }
+
+    // Same as above, scoring sentences by TF-IDF with the given index (or by raw word frequency if it is null).
+    public SummaryGenerator(SentenceSegmenter segmenter, ForkJoinPool pool, int parallelThreshold, IdfIndex idfIndex) {
+        this.segmenter = segmenter;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+        this.idfIndex = idfIndex;
+    }
+
+    // This method generates a summary from the input text, keeping half of the sentences.
+    public String generateSummary(CharSequence inputText) {
+        return generateSummary(inputText, SummaryOptions.DEFAULT);
+    }
+
+    // This method generates a summary from the input text with the given length settings.
+    public String generateSummary(CharSequence inputText, SummaryOptions options) {
+        return generateSummary(inputText, options, SummaryListener.NONE);
+    }
+
+    // This method generates a summary and reports the progress of each stage to the listener.
+    // Interrupting the calling thread cancels the summary with a CancellationException.
+    public String generateSummary(CharSequence inputText, SummaryOptions options, SummaryListener listener) {
+        return generateSummary(inputText, options, new Workspace(), new SummaryProgress(listener));
+    }
+
+    // This method summarizes several texts one after another, reusing the same tokenizer, term table and
+    // buffers for all of them instead of allocating fresh ones per text.
+    public List<String> generateSummaries(List<? extends CharSequence> inputTexts, SummaryOptions options) {
+        Workspace workspace = new Workspace();
+        List<String> summaries = new ArrayList<>(inputTexts.size());
+        for (CharSequence inputText : inputTexts) {
+            summaries.add(generateSummary(inputText, options, workspace, new SummaryProgress(SummaryListener.NONE)));
+        }
+        return summaries;
+    }
+
+    private String generateSummary(CharSequence inputText, SummaryOptions options, Workspace workspace, SummaryProgress progress) {
+        workspace.clear();
+        StageTimer timer = StageTimer.start(inputText.length()); // Does nothing while metrics are disabled.
+        progress.update(SummaryStage.SEGMENTATION, 0, 1);
+
         // Step 1: Split input into sentences
-        // Using a regex pattern to split text into sentences while avoiding splitting titles like "Mr.", "Mrs.", "Dr."
-        String[] sentences = inputText.split("(?<!Mr|Mrs|Dr)\\.\\s+");
+        // Sentence i is inputText[sentenceStarts[i], sentenceEnds[i]); no substrings are created.
+        IntList sentenceStarts = workspace.sentenceStarts;
+        IntList sentenceEnds = workspace.sentenceEnds;
+        int sentenceCount = segmenter.segment(inputText, 0, inputText.length(), sentenceStarts, sentenceEnds);
+        progress.update(SummaryStage.SEGMENTATION, 1, 1);
+        timer.stageDone(SummaryStage.SEGMENTATION);
 
         // Step 2: Count word frequencies
-        // Creating a map to store word frequencies (word as key, frequency as value).
-        Map<String, Integer> wordFrequency = new HashMap<>();
-        for (String sentence : sentences) { // Loop through each sentence.
-            String[] words = sentence.split("\\s+"); // Split the sentence into words using whitespace.
-            for (String word : words) { // Loop through each word in the sentence.
-                word = word.toLowerCase().replaceAll("[^a-zA-Z]", ""); // Normalize word (convert to lowercase, remove non-alphabetic characters).
-                if (!word.isEmpty()) { // Check if the word is not empty after normalization.
-                    // Increment the frequency of the word, defaulting to 0 if the word is not already in the map.
-                    wordFrequency.put(word, wordFrequency.getOrDefault(word, 0) + 1);
-                }
+        // Each sentence is tokenized exactly once; its term IDs are kept so scoring can reuse them.
+        boolean parallel = pool != null && inputText.length() >= parallelThreshold;
+        TokenizedText tokenized = parallel
+            ? ParallelStages.tokenize(pool, inputText, sentenceStarts, sentenceEnds, sentenceCount, progress)
+            : TokenizedText.tokenize(inputText, sentenceStarts, sentenceEnds, sentenceCount,
+                workspace.terms, workspace.tokenizer, workspace.termIds, progress);
+        progress.update(SummaryStage.FREQUENCY, 1, 1);
+        timer.stageDone(SummaryStage.FREQUENCY);
+
+        // Step 3: Rank sentences based on word importance
+        // sentenceScores[i] is the score of sentence i. With an IDF index, each term is looked up once here.
+        long[] termWeights = idfIndex == null || options.getRanker() != SummaryRanker.FREQUENCY
+            ? null : idfIndex.termWeights(tokenized.terms(), tokenized.wordFrequency());
+        long[] sentenceScores = rank(tokenized, termWeights, options, parallel ? pool : null, progress);
+        timer.stageDone(SummaryStage.SCORING);
+
+        // Step 4: Select top-ranked sentences
+        int[] selected = select(tokenized, sentenceScores, options);
+        progress.update(SummaryStage.SELECTION, 1, 1);
+        timer.stageDone(SummaryStage.SELECTION);
+
+        // Step 5: Return the summary as a single text block
+        // Append the selected sentences (with their own punctuation) separated by a space.
+        StringBuilder summary = new StringBuilder();
+        for (int sentence : selected) {
+            if (summary.length() > 0) {
+                summary.append(' ');
             }
+            summary.append(inputText, sentenceStarts.get(sentence), sentenceEnds.get(sentence));
         }
+        String result = summary.toString();
+        progress.update(SummaryStage.JOIN, 1, 1);
+        timer.stageDone(SummaryStage.JOIN);
+        progress.finished(timer.finish(sentenceCount, tokenized.terms().size()));
+        return result;
+    }
 
-        // Step 3: Rank sentences based on word importance
-        // Creating a map to store sentence scores (sentence as key, score as value).
-        Map<String, Integer> sentenceScores = new HashMap<>();
-        for (String sentence : sentences) { // Loop through each sentence.
-            int score = 0; // Initialize score for the sentence.
-            String[] words = sentence.split("\\s+"); // Split the sentence into words.
-            for (String word : words) { // Loop through each word in the sentence.
-                word = word.toLowerCase().replaceAll("[^a-zA-Z]", ""); // Normalize word.
-                if (wordFrequency.containsKey(word)) { // If the word exists in the word frequency map.
-                    score += wordFrequency.get(word); // Add the frequency of the word to the sentence's score.
-                }
+    // Scores every sentence of 'tokenized' with the ranker of the options, on the pool if it is not null.
+    // 'termWeights' are the TF-IDF weights of its terms (see IdfIndex.termWeights), or null to score by raw word
+    // frequency; TextRank ignores them. LiveSummarizer ranks through here too, so its summaries match this class.
+    long[] rank(TokenizedText tokenized, long[] termWeights, SummaryOptions options, ForkJoinPool pool, SummaryProgress progress) {
+        int sentenceCount = tokenized.sentenceCount();
+        long[] sentenceScores = new long[sentenceCount];
+        if (options.getRanker() == SummaryRanker.TEXTRANK) {
+            textRank.rank(tokenized, pool, sentenceScores, progress); // Graph centrality instead.
+        } else if (pool != null) {
+            ParallelStages.score(pool, tokenized, termWeights, sentenceScores, progress);
+        } else {
+            for (int from = 0; from < sentenceCount; from += SCORING_BLOCK) { // Report progress between blocks.
+                progress.update(SummaryStage.SCORING, from, sentenceCount);
+                scoreSentences(tokenized, termWeights, sentenceScores, from, Math.min(sentenceCount, from + SCORING_BLOCK));
             }
-            sentenceScores.put(sentence, score); // Store the calculated score for the sentence in the map.
         }
+        progress.update(SummaryStage.SCORING, 1, 1);
+        return sentenceScores;
+    }
 
-        // Step 4: Select top-ranked sentences
-        // Limit the summary to half of the total sentences.
-        int summaryLength = sentences.length / 2;
+    // Selects the summary sentences from their scores as the options ask and returns their indices in document order.
+    // Sentences are selected by index, so duplicates are kept unless the options ask to skip near-duplicates.
+    static int[] select(TokenizedText tokenized, long[] sentenceScores, SummaryOptions options) {
+        int sentenceCount = tokenized.sentenceCount();
+        IntPredicate accept = sentence -> true;
+        if (options.skipsNearDuplicates()) {
+            RedundancyFilter filter = new RedundancyFilter(tokenized.terms()); // Candidates are offered best first.
+            int[] termIds = tokenized.termIds();
+            accept = sentence -> filter.accept(termIds, tokenized.sentenceTermStart(sentence), tokenized.sentenceTermEnd(sentence));
+        }
+        if (options.hasWordBudget()) {
+            int[] sentenceWords = new int[sentenceCount]; // Number of words in each sentence.
+            for (int i = 0; i < sentenceCount; i++) {
+                sentenceWords[i] = tokenized.sentenceLength(i);
+            }
+            return SentenceSelector.selectWithinBudget(sentenceScores, sentenceCount, sentenceWords, options.getWordBudget(), accept);
+        } else if (options.skipsNearDuplicates()) {
+            return SentenceSelector.selectTop(sentenceScores, sentenceCount, options.sentenceLimit(sentenceCount), accept);
+        }
+        return SentenceSelector.selectTop(sentenceScores, sentenceCount, options.sentenceLimit(sentenceCount));
+    }
 
-        // Create a priority queue to rank sentences by their scores in descending order.
-        PriorityQueue<Map.Entry<String, Integer>> rankedSentences = new PriorityQueue<>(
-            Map.Entry.comparingByValue(Comparator.reverseOrder()) // Comparator to sort by score in reverse order.
-        );
-        rankedSentences.addAll(sentenceScores.entrySet()); // Add all sentence-score pairs to the priority queue.
+    // Scores sentences [from, to): each sentence scores the sum of the document frequencies of its words.
+    static void scoreSentences(TokenizedText tokenized, long[] sentenceScores, int from, int to) {
+        int[] termIds = tokenized.termIds();
+        int[] wordFrequency = tokenized.wordFrequency();
+        for (int i = from; i < to; i++) { // Loop through each sentence.
+            long score = 0; // Initialize score for the sentence.
+            for (int k = tokenized.sentenceTermStart(i); k < tokenized.sentenceTermEnd(i); k++) {
+                score += wordFrequency[termIds[k]]; // Add the frequency of each word to the sentence's score.
+            }
+            sentenceScores[i] = score;
+        }
+    }
 
-        // List to store the selected top-ranked sentences.
-        List<String> summarySentences = new ArrayList<>();
-        for (int i = 0; i < summaryLength && !rankedSentences.isEmpty(); i++) {
-            // Poll the top entry from the queue and add its key (the sentence) to the summary list.
-            summarySentences.add(rankedSentences.poll().getKey());
+    // Scores sentences [from, to) by TF-IDF: the sum of the weights of its words divided by its number of words,
+    // so a sentence does not rank higher just for being long. Falls back to the method above if 'termWeights' is null.
+    static void scoreSentences(TokenizedText tokenized, long[] termWeights, long[] sentenceScores, int from, int to) {
+        if (termWeights == null) {
+            scoreSentences(tokenized, sentenceScores, from, to);
+            return;
         }
+        int[] termIds = tokenized.termIds();
+        for (int i = from; i < to; i++) {
+            long score = 0;
+            for (int k = tokenized.sentenceTermStart(i); k < tokenized.sentenceTermEnd(i); k++) {
+                score += termWeights[termIds[k]];
+            }
+            sentenceScores[i] = score / Math.max(1, tokenized.sentenceLength(i));
+        }
+    }
 
-        // Step 5: Return the summary as a single text block
-        // Combine the selected sentences into a single string, separated by periods.
-        return String.join(". ", summarySentences) + ".";
+    // Returns the segmenter that splits inputs into sentences.
+    SentenceSegmenter getSegmenter() {
+        return segmenter;
+    }
+
+    // Returns the corpus IDF index sentences are scored with, or null when they are scored by raw word frequency.
+    IdfIndex getIdfIndex() {
+        return idfIndex;
+    }
+
+    // Returns a short description of how sentences are scored, e.g. "tf" or "tfidf:corpus.idf(...)".
+    // Summaries are only interchangeable between generators with the same scoring (see SummaryCache).
+    public String getScoring() {
+        return idfIndex == null ? "tf" : "tfidf:" + idfIndex;
+    }
+
+    // This method summarizes a file without loading it into memory (see FileSummarizer).
+    public String summarizeFile(Path file, SummaryOptions options) throws IOException {
+        return new FileSummarizer(segmenter, FileSummarizer.DEFAULT_WINDOW_SIZE, idfIndex).summarize(file, options);
+    }
+
+    // Same as above, appending the summary to 'out' one sentence at a time instead of returning it.
+    public void summarizeFile(Path file, SummaryOptions options, Appendable out) throws IOException {
+        new FileSummarizer(segmenter, FileSummarizer.DEFAULT_WINDOW_SIZE, idfIndex).summarize(file, options, out);
+    }
+
+    // Buffers used while summarizing one text. They are cleared, not reallocated, between texts of a batch.
+    private static class Workspace {
+        final IntList sentenceStarts = new IntList();
+        final IntList sentenceEnds = new IntList();
+        final TermTable terms = new TermTable();
+        final WordTokenizer tokenizer = new WordTokenizer();
+        final IntList termIds = new IntList();
+
+        void clear() {
+            sentenceStarts.clear();
+            sentenceEnds.clear();
+            terms.clear();
+            termIds.clear();
+        }
     }
 }
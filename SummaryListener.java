@@ -0,0 +1,15 @@
+// This interface receives progress updates from SummaryGenerator.
+// Updates arrive on the thread that called generateSummary, only when the overall percentage changes.
+public interface SummaryListener {
+
+    // A listener that ignores all updates.
+    SummaryListener NONE = (stage, percent) -> { };
+
+    // Called when the generator reaches 'percent' (0 to 100) of the whole job while working on 'stage'.
+    void onProgress(SummaryStage stage, int percent);
+
+    // Called once the summary is ready, with the time and size of each stage. Not called while metrics are
+    // disabled (see SummaryMetrics) or when the summary came from a cache.
+    default void onFinished(SummaryStats stats) {
+    }
+}
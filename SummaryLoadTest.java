@@ -0,0 +1,82 @@
+import java.net.URI; // Target URL.
+import java.net.http.HttpClient; // Sends the requests.
+import java.net.http.HttpRequest; // Request builder.
+import java.net.http.HttpResponse; // Response handling.
+import java.nio.charset.StandardCharsets; // Bodies are UTF-8.
+import java.nio.file.Files; // For reading the document to send.
+import java.nio.file.Paths; // For parsing the document path.
+import java.util.ArrayList; // Worker threads.
+import java.util.List; // Worker threads.
+import java.util.concurrent.atomic.AtomicLong; // Thread-safe counters.
+
+// This class is a small load generator for SummaryServer.
+// It sends the same document from N concurrent clients and prints throughput, status counts and latency percentiles.
+// Usage: SummaryLoadTest --file <document> [--url http://localhost:8080/summarize] [--concurrency N] [--requests N]
+public class SummaryLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080/summarize";
+        String file = null;
+        int concurrency = 16;
+        int totalRequests = 1000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url": url = args[++i]; break;
+                case "--file": file = args[++i]; break;
+                case "--concurrency": concurrency = Integer.parseInt(args[++i]); break;
+                case "--requests": totalRequests = Integer.parseInt(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        if (file == null) {
+            System.err.println("Usage: SummaryLoadTest --file <document> [--url URL] [--concurrency N] [--requests N]");
+            System.exit(2);
+        }
+
+        byte[] document = Files.readAllBytes(Paths.get(file));
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "text/plain; charset=utf-8")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(document))
+            .build();
+
+        LatencyHistogram latencies = new LatencyHistogram(); // Latency of successful requests.
+        AtomicLong remaining = new AtomicLong(totalRequests); // Requests not yet sent.
+        AtomicLong ok = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        long start = System.nanoTime();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < concurrency; t++) {
+            Thread worker = new Thread(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                        if (response.statusCode() == 200) {
+                            latencies.record(System.nanoTime() - sent);
+                            ok.incrementAndGet();
+                        } else if (response.statusCode() == 429) {
+                            rejected.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("Requests: %d ok, %d rejected (429), %d failed in %.2f s%n", ok.get(), rejected.get(), failed.get(), seconds);
+        System.out.printf("Throughput: %.1f req/sec, %.2f MB/sec%n", ok.get() / seconds, ok.get() * document.length / (1024.0 * 1024.0) / seconds);
+        System.out.println("Latency: " + latencies.summary());
+    }
+}
@@ -0,0 +1,152 @@
+import java.lang.management.ManagementFactory; // Gives access to the platform MBean server.
+import java.util.concurrent.atomic.LongAdder; // Counters updated by many threads with little contention.
+import javax.management.JMException; // Thrown when the MBean cannot be registered.
+import javax.management.ObjectName; // Name of the MBean.
+
+// This class collects timings and counters of all summaries generated in this JVM and publishes them over JMX.
+// Metrics are on by default; start the JVM with -Dsummarizer.metrics=false to turn them off. When off, nothing
+// is measured or recorded, the MBean is not registered and the stage timers compile away to nothing.
+public class SummaryMetrics implements SummaryMetricsMBean {
+
+    // Whether metrics are collected. Read once at startup so the JIT can treat it as a constant.
+    public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("summarizer.metrics"));
+
+    // JMX name of the MBean.
+    public static final String OBJECT_NAME = "textsummarizer:type=SummaryMetrics";
+
+    private static final SummaryMetrics GLOBAL = register(new SummaryMetrics());
+
+    private final LongAdder summaries = new LongAdder();
+    private final LongAdder sentences = new LongAdder();
+    private final LongAdder distinctTerms = new LongAdder();
+    private final LongAdder chars = new LongAdder();
+    private volatile LatencyHistogram latencies = new LatencyHistogram(); // Whole summaries (replaced by reset()).
+    private volatile LatencyHistogram[] stageLatencies = newStageHistograms(); // One histogram per stage.
+    private final LongAdder[] stageAllocatedBytes = new LongAdder[SummaryStage.values().length];
+
+    private SummaryMetrics() {
+        for (int i = 0; i < stageAllocatedBytes.length; i++) {
+            stageAllocatedBytes[i] = new LongAdder();
+        }
+    }
+
+    // Returns the metrics shared by every generator in this JVM.
+    public static SummaryMetrics global() {
+        return GLOBAL;
+    }
+
+    // Adds the measurements of one summary.
+    void record(SummaryStats stats) {
+        summaries.increment();
+        sentences.add(stats.getSentences());
+        distinctTerms.add(stats.getTerms());
+        chars.add(stats.getChars());
+        latencies.record(stats.getTotalNanos());
+        LatencyHistogram[] stageHistograms = stageLatencies;
+        for (SummaryStage stage : SummaryStage.values()) {
+            stageHistograms[stage.ordinal()].record(stats.getStageNanos(stage));
+            long allocated = stats.getStageAllocatedBytes(stage);
+            if (allocated > 0) {
+                stageAllocatedBytes[stage.ordinal()].add(allocated);
+            }
+        }
+    }
+
+    @Override
+    public long getSummaries() {
+        return summaries.sum();
+    }
+
+    @Override
+    public long getSentences() {
+        return sentences.sum();
+    }
+
+    @Override
+    public long getDistinctTerms() {
+        return distinctTerms.sum();
+    }
+
+    @Override
+    public long getCharsProcessed() {
+        return chars.sum();
+    }
+
+    @Override
+    public double getLatencyMeanMillis() {
+        return latencies.mean() / 1_000_000.0;
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+        return latencies.percentile(50) / 1_000_000.0;
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+        return latencies.percentile(99) / 1_000_000.0;
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+        return latencies.max() / 1_000_000.0;
+    }
+
+    @Override
+    public String[] getStageSummaries() {
+        SummaryStage[] stages = SummaryStage.values();
+        String[] lines = new String[stages.length];
+        for (SummaryStage stage : stages) {
+            lines[stage.ordinal()] = stage + " " + stageLatencies[stage.ordinal()].summary()
+                + " allocated=" + stageAllocatedBytes[stage.ordinal()].sum() + " bytes";
+        }
+        return lines;
+    }
+
+    @Override
+    public synchronized void reset() {
+        summaries.reset();
+        sentences.reset();
+        distinctTerms.reset();
+        chars.reset();
+        latencies = new LatencyHistogram(); // LatencyHistogram cannot be cleared, so start fresh ones.
+        stageLatencies = newStageHistograms();
+        for (LongAdder allocated : stageAllocatedBytes) {
+            allocated.reset();
+        }
+    }
+
+    // Returns the counters and the per-stage lines as text, one "name value" or stage line per line.
+    public String report() {
+        StringBuilder text = new StringBuilder();
+        text.append("summaries ").append(getSummaries()).append('\n');
+        text.append("sentences ").append(getSentences()).append('\n');
+        text.append("distinct_terms ").append(getDistinctTerms()).append('\n');
+        text.append("chars ").append(getCharsProcessed()).append('\n');
+        text.append("latency ").append(latencies.summary()).append('\n');
+        for (String line : getStageSummaries()) {
+            text.append(line).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static LatencyHistogram[] newStageHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[SummaryStage.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    // Registers the metrics with the platform MBean server when metrics are enabled.
+    private static SummaryMetrics register(SummaryMetrics metrics) {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.err.println("Could not register " + OBJECT_NAME + ": " + e); // Metrics still work in-process.
+            }
+        }
+        return metrics;
+    }
+}
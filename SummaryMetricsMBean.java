@@ -0,0 +1,31 @@
+// Management interface of SummaryMetrics, visible in JConsole and other JMX clients
+// under the name "textsummarizer:type=SummaryMetrics".
+public interface SummaryMetricsMBean {
+
+    // Number of summaries generated.
+    long getSummaries();
+
+    // Total number of sentences segmented.
+    long getSentences();
+
+    // Total number of distinct terms, summed over all summaries.
+    long getDistinctTerms();
+
+    // Total number of input characters processed.
+    long getCharsProcessed();
+
+    // Latency of whole summaries, in milliseconds.
+    double getLatencyMeanMillis();
+
+    double getLatencyP50Millis();
+
+    double getLatencyP99Millis();
+
+    double getLatencyMaxMillis();
+
+    // One line per stage with its latency percentiles and the bytes it allocated.
+    String[] getStageSummaries();
+
+    // Clears all counters and histograms.
+    void reset();
+}
@@ -0,0 +1,133 @@
+import java.util.Locale; // For the ranker name in toString().
+
+// This class describes how long a summary should be.
+// A summary can keep a fraction of the sentences, a fixed number of sentences, or as many top sentences as fit in a word budget.
+// It also says how sentences are ranked (see SummaryRanker) and whether near-duplicate sentences are skipped.
+public class SummaryOptions {
+
+    // The original behaviour: keep half of the sentences.
+    public static final SummaryOptions DEFAULT = ratio(0.5);
+
+    private final double ratio; // Fraction of sentences to keep, or -1 when unused.
+    private final int sentenceCount; // Absolute number of sentences to keep, or -1 when unused.
+    private final int wordBudget; // Maximum number of words in the summary, or -1 when unused.
+    private final SummaryRanker ranker; // How sentences are ranked.
+    private final boolean skipNearDuplicates; // Whether near-copies of chosen sentences are skipped.
+    private final int maxSentences; // Upper bound on the number of sentences kept, or -1 when unused.
+
+    private SummaryOptions(double ratio, int sentenceCount, int wordBudget, SummaryRanker ranker, boolean skipNearDuplicates, int maxSentences) {
+        this.ratio = ratio;
+        this.sentenceCount = sentenceCount;
+        this.wordBudget = wordBudget;
+        this.ranker = ranker;
+        this.skipNearDuplicates = skipNearDuplicates;
+        this.maxSentences = maxSentences;
+    }
+
+    // Keeps the given fraction (0 to 1) of the sentences, rounded down.
+    public static SummaryOptions ratio(double ratio) {
+        if (!(ratio >= 0 && ratio <= 1)) {
+            throw new IllegalArgumentException("Ratio must be between 0 and 1: " + ratio);
+        }
+        return new SummaryOptions(ratio, -1, -1, SummaryRanker.FREQUENCY, false, -1);
+    }
+
+    // Keeps at most the given number of sentences.
+    public static SummaryOptions sentences(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Sentence count must not be negative: " + count);
+        }
+        return new SummaryOptions(-1, count, -1, SummaryRanker.FREQUENCY, false, -1);
+    }
+
+    // Keeps the best sentences whose words together fit in the given budget.
+    public static SummaryOptions words(int budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Word budget must not be negative: " + budget);
+        }
+        return new SummaryOptions(-1, -1, budget, SummaryRanker.FREQUENCY, false, -1);
+    }
+
+    // Returns the same length settings with sentences ranked by the given ranker.
+    public SummaryOptions withRanker(SummaryRanker ranker) {
+        return new SummaryOptions(ratio, sentenceCount, wordBudget, ranker, skipNearDuplicates, maxSentences);
+    }
+
+    // Returns the same settings, skipping (or not) sentences that are near-copies of sentences already chosen
+    // (see RedundancyFilter). Skipped sentences leave room for the next best ones.
+    public SummaryOptions withSkipNearDuplicates(boolean skip) {
+        return new SummaryOptions(ratio, sentenceCount, wordBudget, ranker, skip, maxSentences);
+    }
+
+    // Returns the same settings, keeping at most 'max' sentences whatever the ratio or count asks for.
+    // This bounds the size of summaries of very long documents. Word budgets are bounded already and cannot be
+    // combined with a cap.
+    public SummaryOptions withMaxSentences(int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Maximum sentence count must not be negative: " + max);
+        }
+        if (wordBudget >= 0) {
+            throw new IllegalArgumentException("A word budget cannot be combined with a maximum sentence count: " + this);
+        }
+        return new SummaryOptions(ratio, sentenceCount, wordBudget, ranker, skipNearDuplicates, max);
+    }
+
+    // Returns true if near-duplicate sentences are skipped.
+    public boolean skipsNearDuplicates() {
+        return skipNearDuplicates;
+    }
+
+    // Returns how sentences are ranked.
+    public SummaryRanker getRanker() {
+        return ranker;
+    }
+
+    // Returns true if the summary length is limited by words rather than by sentences.
+    public boolean hasWordBudget() {
+        return wordBudget >= 0;
+    }
+
+    // Returns true if withMaxSentences() capped the number of sentences.
+    public boolean hasMaxSentences() {
+        return maxSentences >= 0;
+    }
+
+    // Returns the word budget (only meaningful when hasWordBudget() is true).
+    public int getWordBudget() {
+        return wordBudget;
+    }
+
+    // Returns how many sentences to keep from a document with the given number of sentences.
+    public int sentenceLimit(int totalSentences) {
+        int limit;
+        if (sentenceCount >= 0) {
+            limit = Math.min(sentenceCount, totalSentences);
+        } else if (ratio >= 0) {
+            limit = (int) (totalSentences * ratio);
+        } else {
+            limit = totalSentences; // A word budget does not limit the number of sentences by itself.
+        }
+        return maxSentences >= 0 ? Math.min(limit, maxSentences) : limit;
+    }
+
+    // Returns a short description of the settings, e.g. "ratio=0.5" or "sentences=5,ranker=textrank,dedup".
+    // The cap, the ranker and the duplicate filter are only mentioned when they differ from the defaults.
+    @Override
+    public String toString() {
+        String length;
+        if (sentenceCount >= 0) {
+            length = "sentences=" + sentenceCount;
+        } else if (wordBudget >= 0) {
+            length = "words=" + wordBudget;
+        } else {
+            length = "ratio=" + ratio;
+        }
+        if (maxSentences >= 0) {
+            length += ",max=" + maxSentences;
+        }
+        if (ranker != SummaryRanker.FREQUENCY) {
+            length += ",ranker=" + ranker.name().toLowerCase(Locale.ROOT);
+        }
+        return skipNearDuplicates ? length + ",dedup" : length;
+    }
+}
@@ -0,0 +1,40 @@
+import java.util.concurrent.CancellationException; // Thrown when the summary was cancelled.
+
+// This class tracks the progress of one generateSummary call and checks whether it has been cancelled.
+// A call is cancelled by interrupting the thread that started it (as SwingWorker.cancel(true) does);
+// checkCancelled() may be called from pool threads too, because it looks at the owner's interrupt flag.
+public class SummaryProgress {
+
+    private final SummaryListener listener; // Receives the updates.
+    private final Thread owner; // Thread that started the summary.
+    private int lastPercent = -1; // Last percentage sent to the listener.
+
+    public SummaryProgress(SummaryListener listener) {
+        this.listener = listener;
+        this.owner = Thread.currentThread();
+    }
+
+    // Reports that 'done' of 'total' units of the stage are finished. Must be called on the owner thread.
+    public void update(SummaryStage stage, long done, long total) {
+        checkCancelled();
+        int percent = stage.percent(done, total);
+        if (percent != lastPercent) { // Avoid flooding the listener with identical updates.
+            lastPercent = percent;
+            listener.onProgress(stage, percent);
+        }
+    }
+
+    // Hands the measurements of the finished summary to the listener (nothing happens if they are null).
+    public void finished(SummaryStats stats) {
+        if (stats != null) {
+            listener.onFinished(stats);
+        }
+    }
+
+    // Throws CancellationException if the owner thread has been interrupted.
+    public void checkCancelled() {
+        if (owner.isInterrupted()) {
+            throw new CancellationException("Summary cancelled");
+        }
+    }
+}
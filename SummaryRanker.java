@@ -0,0 +1,16 @@
+import java.util.Locale; // Ranker names are parsed without regard to the default locale.
+
+// The ways SummaryGenerator can rank sentences. Chosen per call through SummaryOptions.withRanker.
+public enum SummaryRanker {
+    FREQUENCY, // Sum of the document frequencies of a sentence's words (or their TF-IDF weights, see IdfIndex).
+    TEXTRANK; // Centrality in the sentence-similarity graph (see TextRankRanker).
+
+    // Parses a ranker name such as "textrank", ignoring case.
+    public static SummaryRanker parse(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown ranker: " + name);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+import com.sun.net.httpserver.HttpExchange; // One HTTP request/response.
+import com.sun.net.httpserver.HttpServer; // The JDK's built-in HTTP server.
+import java.io.IOException; // Thrown by request and response streams.
+import java.io.InputStream; // Request body, drained when a request is rejected.
+import java.io.InputStreamReader; // Decodes the request body while it streams in.
+import java.io.OutputStream; // Response body.
+import java.io.Reader; // Request body as characters.
+import java.net.InetAddress; // The server only listens on the loopback interface.
+import java.net.InetSocketAddress; // Address to bind.
+import java.net.URLDecoder; // For query parameters.
+import java.nio.CharBuffer; // Views of the documents inside a batch body.
+import java.nio.charset.StandardCharsets; // Bodies are UTF-8.
+import java.nio.file.Paths; // For the IDF index given on the command line.
+import java.util.ArrayList; // Documents of a batch request.
+import java.util.List; // Documents and summaries of a batch request.
+import java.util.concurrent.ExecutorService; // Runs the request handlers.
+import java.util.concurrent.Executors; // Creates the handler executor.
+import java.util.concurrent.Semaphore; // Limits the number of summaries computed at once.
+import java.util.concurrent.atomic.AtomicLong; // Thread-safe counters.
+
+// This class serves SummaryGenerator over HTTP on localhost, for other processes on the same machine.
+//   POST /summarize  body: UTF-8 text                        -> the summary
+//   POST /batch      body: documents separated by form feeds  -> the summaries, separated by form feeds
+//   GET  /metrics    counters and latency percentiles as "name value" lines
+// Length settings are taken from the query string: ?ratio=0.3, ?sentences=5 or ?words=100;
+// ?ranker=textrank ranks sentences with TextRank instead of word frequencies, and ?dedup=true skips sentences
+// that are near-copies of sentences already in the summary.
+// At most 'maxConcurrent' requests are summarized at once; any request beyond that gets 429 Too Many Requests
+// right away instead of queueing, so clients can back off.
+public class SummaryServer {
+
+    // Separates documents in /batch requests and responses.
+    public static final char DOCUMENT_SEPARATOR = '\f';
+
+    // Largest accepted request body, in characters.
+    private static final int MAX_BODY_CHARS = 64 * 1024 * 1024;
+
+    // Largest initial capacity of a request body buffer. Larger bodies grow it as their data actually arrives,
+    // so a Content-Length header alone cannot make the server reserve memory.
+    private static final int MAX_INITIAL_BODY_CHARS = 64 * 1024;
+
+    private final SummaryGenerator summaryGenerator; // Shared by all handlers; it keeps no per-call state.
+    private final Semaphore permits; // One permit per summary computed at a time.
+    private final int maxConcurrent;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final LatencyHistogram latencies = new LatencyHistogram(); // Time to handle each accepted request.
+    private final AtomicLong requests = new AtomicLong(); // Accepted summarize and batch requests.
+    private final AtomicLong rejected = new AtomicLong(); // Requests answered with 429.
+    private final AtomicLong errors = new AtomicLong(); // Requests that failed.
+    private final AtomicLong documents = new AtomicLong(); // Documents summarized.
+    private final AtomicLong chars = new AtomicLong(); // Characters of input summarized.
+
+    public SummaryServer(SummaryGenerator summaryGenerator, int maxConcurrent) {
+        this.summaryGenerator = summaryGenerator;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    // Entry point for "--server [--port N] [--max-concurrent N] [--idf <index file>]".
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int maxConcurrent = Runtime.getRuntime().availableProcessors() * 2;
+        IdfIndex idfIndex = IdfIndex.fromSystemProperty();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--server": break;
+                case "--port": port = Integer.parseInt(args[++i]); break;
+                case "--max-concurrent": maxConcurrent = Integer.parseInt(args[++i]); break;
+                case "--idf": idfIndex = IdfIndex.open(Paths.get(args[++i])); break;
+                default: throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        SummaryGenerator summaryGenerator = new SummaryGenerator(new SentenceSegmenter(), null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, idfIndex);
+        SummaryServer server = new SummaryServer(summaryGenerator, maxConcurrent);
+        server.start(port);
+        System.out.println("Summary server listening on http://localhost:" + server.getPort() + " (max " + maxConcurrent + " concurrent)");
+    }
+
+    // Starts listening on the loopback interface. Port 0 picks a free port (see getPort()).
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = newHandlerExecutor();
+        server.setExecutor(executor);
+        server.createContext("/summarize", exchange -> handle(exchange, false));
+        server.createContext("/batch", exchange -> handle(exchange, true));
+        server.createContext("/metrics", this::metrics);
+        server.start();
+    }
+
+    // Stops the server, waiting at most one second for running requests.
+    public void stop() {
+        server.stop(1);
+        executor.shutdownNow();
+    }
+
+    // Returns the port the server is listening on.
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Handles /summarize and /batch.
+    private void handle(HttpExchange exchange, boolean batch) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "Use POST\n");
+                return;
+            }
+            if (!permits.tryAcquire()) { // Backpressure: reject instead of queueing.
+                rejected.incrementAndGet(); // Counted apart from errors, even if the client is gone before the 429.
+                drain(exchange.getRequestBody()); // Clients still uploading would otherwise see a reset, not the 429.
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 429, "Too many concurrent requests\n");
+                return;
+            }
+            try {
+                summarize(exchange, batch);
+            } finally {
+                permits.release();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Summarizes the request body and sends the summary. Every failure is counted and answered, when the response
+    // has not been started yet: 400 for bad parameters, 500 for anything else.
+    private void summarize(HttpExchange exchange, boolean batch) throws IOException {
+        long start = System.nanoTime();
+        try {
+            SummaryOptions options = parseOptions(exchange.getRequestURI().getRawQuery());
+            StringBuilder body = readBody(exchange);
+            if (body == null) {
+                send(exchange, 413, "Request body too large\n");
+                return;
+            }
+            String response;
+            if (batch) {
+                List<CharSequence> inputs = splitDocuments(body);
+                response = String.join(String.valueOf(DOCUMENT_SEPARATOR), summaryGenerator.generateSummaries(inputs, options));
+                documents.addAndGet(inputs.size());
+            } else {
+                response = summaryGenerator.generateSummary(body, options);
+                documents.incrementAndGet();
+            }
+            chars.addAndGet(body.length());
+            requests.incrementAndGet();
+            send(exchange, 200, response);
+            latencies.record(System.nanoTime() - start);
+        } catch (IllegalArgumentException e) {
+            errors.incrementAndGet();
+            send(exchange, 400, e.getMessage() + "\n");
+        } catch (IOException | RuntimeException e) {
+            errors.incrementAndGet();
+            if (exchange.getResponseCode() < 0) { // No response started yet.
+                try {
+                    send(exchange, 500, "Internal error\n");
+                } catch (IOException sendFailure) {
+                    e.addSuppressed(sendFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    // Handles /metrics.
+    private void metrics(HttpExchange exchange) throws IOException {
+        try {
+            StringBuilder text = new StringBuilder();
+            text.append("requests ").append(requests.get()).append('\n');
+            text.append("rejected ").append(rejected.get()).append('\n');
+            text.append("errors ").append(errors.get()).append('\n');
+            text.append("documents ").append(documents.get()).append('\n');
+            text.append("chars ").append(chars.get()).append('\n');
+            text.append("in_flight ").append(maxConcurrent - permits.availablePermits()).append('\n');
+            text.append("max_concurrent ").append(maxConcurrent).append('\n');
+            text.append("latency_mean_ns ").append(latencies.mean()).append('\n');
+            text.append("latency_p50_ns ").append(latencies.percentile(50)).append('\n');
+            text.append("latency_p90_ns ").append(latencies.percentile(90)).append('\n');
+            text.append("latency_p99_ns ").append(latencies.percentile(99)).append('\n');
+            text.append("latency_max_ns ").append(latencies.max()).append('\n');
+            send(exchange, 200, text.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Reads the request body in chunks as it arrives. Returns null if it exceeds MAX_BODY_CHARS.
+    private static StringBuilder readBody(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        int expected = length == null ? 8192 : (int) Math.min(Long.parseLong(length), MAX_INITIAL_BODY_CHARS);
+        StringBuilder body = new StringBuilder(Math.max(16, expected));
+        char[] buffer = new char[8192];
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = reader.read(buffer)) > 0) {
+                if (body.length() + read > MAX_BODY_CHARS) {
+                    return null;
+                }
+                body.append(buffer, 0, read);
+            }
+        }
+        return body;
+    }
+
+    // Reads and discards what is left of a request body, up to MAX_BODY_CHARS bytes.
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        long left = MAX_BODY_CHARS;
+        int read;
+        while (left > 0 && (read = in.read(buffer, 0, (int) Math.min(buffer.length, left))) > 0) {
+            left -= read;
+        }
+    }
+
+    // Splits a batch body into its documents without copying them.
+    private static List<CharSequence> splitDocuments(StringBuilder body) {
+        List<CharSequence> documents = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= body.length(); i++) {
+            if (i == body.length() || body.charAt(i) == DOCUMENT_SEPARATOR) {
+                documents.add(CharBuffer.wrap(body, start, i));
+                start = i + 1;
+            }
+        }
+        return documents;
+    }
+
+    // Reads the summary length settings, the ranker and the duplicate filter from the query string (default: half of the sentences).
+    private static SummaryOptions parseOptions(String query) {
+        SummaryOptions options = SummaryOptions.DEFAULT;
+        SummaryRanker ranker = SummaryRanker.FREQUENCY;
+        boolean dedup = false;
+        if (query == null || query.isEmpty()) {
+            return options;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            String name = equals < 0 ? parameter : parameter.substring(0, equals);
+            String value = equals < 0 ? "" : URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+            switch (name) {
+                case "ratio": options = SummaryOptions.ratio(Double.parseDouble(value)); break;
+                case "sentences": options = SummaryOptions.sentences(Integer.parseInt(value)); break;
+                case "words": options = SummaryOptions.words(Integer.parseInt(value)); break;
+                case "ranker": ranker = SummaryRanker.parse(value); break;
+                case "dedup": dedup = value.isEmpty() || Boolean.parseBoolean(value); break;
+                default: throw new IllegalArgumentException("Unknown parameter: " + name);
+            }
+        }
+        return options.withRanker(ranker).withSkipNearDuplicates(dedup);
+    }
+
+    // Sends a UTF-8 text response.
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Runs each request on its own virtual thread when the JVM has them (Java 21+), or else on a cached pool.
+    // Handlers mostly block on I/O or return 429 immediately, so the thread count itself is not the limit.
+    private static ExecutorService newHandlerExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+// The stages SummaryGenerator goes through, in order, with the share of the total work each one usually takes.
+public enum SummaryStage {
+    SEGMENTATION(0, 10), // Splitting the text into sentences.
+    FREQUENCY(10, 50), // Tokenizing sentences and counting word frequencies.
+    SCORING(50, 90), // Scoring every sentence.
+    SELECTION(90, 95), // Picking the best sentences.
+    JOIN(95, 100); // Building the summary text from the picked sentences.
+
+    private final int startPercent; // Overall progress when the stage starts.
+    private final int endPercent; // Overall progress when the stage ends.
+
+    SummaryStage(int startPercent, int endPercent) {
+        this.startPercent = startPercent;
+        this.endPercent = endPercent;
+    }
+
+    // Returns the overall progress (0 to 100) after 'done' of 'total' units of this stage.
+    public int percent(long done, long total) {
+        if (total <= 0) {
+            return endPercent;
+        }
+        return startPercent + (int) ((endPercent - startPercent) * Math.min(done, total) / total);
+    }
+}
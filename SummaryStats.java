@@ -0,0 +1,64 @@
+// This class holds the measurements of one generateSummary call: the time and the allocation of every stage,
+// and the size of the input. SummaryGenerator hands it to SummaryListener.onFinished when metrics are enabled.
+public class SummaryStats {
+
+    private final int chars; // Length of the input text.
+    private final int sentences; // Number of sentences found.
+    private final int terms; // Number of distinct words found.
+    private final long totalNanos; // Time of the whole call.
+    private final long[] stageNanos; // Time of each stage, indexed by SummaryStage.ordinal().
+    private final long[] stageAllocatedBytes; // Bytes allocated by the calling thread during each stage (-1 if unknown).
+
+    SummaryStats(int chars, int sentences, int terms, long totalNanos, long[] stageNanos, long[] stageAllocatedBytes) {
+        this.chars = chars;
+        this.sentences = sentences;
+        this.terms = terms;
+        this.totalNanos = totalNanos;
+        this.stageNanos = stageNanos;
+        this.stageAllocatedBytes = stageAllocatedBytes;
+    }
+
+    public int getChars() {
+        return chars;
+    }
+
+    public int getSentences() {
+        return sentences;
+    }
+
+    public int getTerms() {
+        return terms;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    // Returns the time spent in the stage, in nanoseconds.
+    public long getStageNanos(SummaryStage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    // Returns the bytes allocated by the calling thread during the stage, or -1 if the JVM cannot tell.
+    // Work done on pool threads (large inputs in parallel mode) is not included.
+    public long getStageAllocatedBytes(SummaryStage stage) {
+        return stageAllocatedBytes[stage.ordinal()];
+    }
+
+    // Returns a compact line such as "412 ms, 18k sentences, 9k terms".
+    @Override
+    public String toString() {
+        return totalNanos / 1_000_000 + " ms, " + compact(sentences) + " sentences, " + compact(terms) + " terms";
+    }
+
+    // Formats a count with a k or M suffix once it reaches a thousand.
+    static String compact(long count) {
+        if (count < 1_000) {
+            return Long.toString(count);
+        }
+        if (count < 1_000_000) {
+            return count / 1_000 + "k";
+        }
+        return String.format("%.1fM", count / 1_000_000.0);
+    }
+}
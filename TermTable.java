@@ -0,0 +1,173 @@
+import java.util.Arrays; // For growing the backing arrays.
+
+// This class assigns a compact int ID to every distinct normalized word.
+// It is an open-addressing hash table specialized for char sequences, so looking up a word
+// never creates a String and the frequency of each word can live in a plain int[] indexed by ID.
+public class TermTable {
+
+    private int[] slots; // Hash slots holding (term ID + 1); 0 marks an empty slot.
+    private int[] hashes; // Cached hash code of each term, indexed by term ID.
+    private int[] termStarts; // Offset of each term's characters inside the pool.
+    private int[] termLengths; // Number of characters of each term.
+    private char[] pool; // All term characters stored back to back.
+    private int poolSize; // Number of characters used in the pool.
+    private int size; // Number of distinct terms.
+
+    // Creates an empty table sized for a typical document vocabulary.
+    public TermTable() {
+        slots = new int[1024];
+        hashes = new int[512];
+        termStarts = new int[512];
+        termLengths = new int[512];
+        pool = new char[4096];
+    }
+
+    // Returns the ID of the given word, adding it to the table if it is new.
+    // Only the first 'length' characters of the buffer are used.
+    public int add(char[] word, int length) {
+        return add(word, 0, length);
+    }
+
+    // Returns the ID in this table of term 'id' of another table, adding it if it is new.
+    // Used to merge tables that were filled by different threads.
+    public int add(TermTable other, int id) {
+        return add(other.pool, other.termStarts[id], other.termLengths[id]);
+    }
+
+    // Adds word[offset, offset + length) and returns its ID.
+    private int add(char[] word, int offset, int length) {
+        int hash = hash(word, offset, length);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) { // Linear probing until the word or an empty slot is found.
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && matches(id, word, offset, length)) {
+                return id; // Word already known.
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // The word is new: copy its characters into the pool and register it.
+        int id = size++;
+        ensureTermCapacity(size);
+        ensurePoolCapacity(poolSize + length);
+        System.arraycopy(word, offset, pool, poolSize, length);
+        termStarts[id] = poolSize;
+        termLengths[id] = length;
+        hashes[id] = hash;
+        poolSize += length;
+        slots[slot] = id + 1;
+
+        if (size * 2 > slots.length) { // Keep the load factor at or below one half.
+            rehash(slots.length * 2);
+        }
+        return id;
+    }
+
+    // Returns the ID of the given word, or -1 if the word has never been added.
+    public int find(char[] word, int length) {
+        int hash = hash(word, 0, length);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && matches(id, word, 0, length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Returns the word stored under the given ID as a String.
+    public String term(int id) {
+        return new String(pool, termStarts[id], termLengths[id]);
+    }
+
+    // Returns the character pool; term 'id' is pool()[termStart(id), termStart(id) + termLength(id)).
+    // Lets other classes read a term without creating a String. The array changes when the table grows.
+    char[] pool() {
+        return pool;
+    }
+
+    // Returns the offset of the given term's characters inside the pool.
+    int termStart(int id) {
+        return termStarts[id];
+    }
+
+    // Returns the number of characters of the given term.
+    int termLength(int id) {
+        return termLengths[id];
+    }
+
+    // Returns the number of distinct words in the table.
+    public int size() {
+        return size;
+    }
+
+    // Removes all words but keeps the allocated arrays so the table can be reused.
+    public void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+        poolSize = 0;
+    }
+
+    // Returns the hash of the characters of term 'id'. It depends only on the word, not on its ID.
+    int hash(int id) {
+        return hash(pool, termStarts[id], termLengths[id]);
+    }
+
+    // Checks whether the term with the given ID has exactly the given characters.
+    private boolean matches(int id, char[] word, int offset, int length) {
+        if (termLengths[id] != length) {
+            return false;
+        }
+        int start = termStarts[id];
+        for (int i = 0; i < length; i++) {
+            if (pool[start + i] != word[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Computes the hash of a word, mixing the bits so nearby words spread over the slots.
+    private static int hash(char[] word, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + word[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // Rebuilds the slot array with a new capacity (always a power of two).
+    private void rehash(int capacity) {
+        int[] newSlots = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    // Grows the per-term arrays so they can hold at least the given number of terms.
+    private void ensureTermCapacity(int capacity) {
+        if (capacity > hashes.length) {
+            int newLength = Math.max(capacity, hashes.length * 2);
+            hashes = Arrays.copyOf(hashes, newLength);
+            termStarts = Arrays.copyOf(termStarts, newLength);
+            termLengths = Arrays.copyOf(termLengths, newLength);
+        }
+    }
+
+    // Grows the character pool so it can hold at least the given number of characters.
+    private void ensurePoolCapacity(int capacity) {
+        if (capacity > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(capacity, pool.length * 2));
+        }
+    }
+}
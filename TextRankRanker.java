@@ -0,0 +1,358 @@
+import java.util.ArrayList; // For collecting the chunk tasks.
+import java.util.Arrays; // For sorting candidate neighbours and growing buffers.
+import java.util.List; // Task and result lists.
+import java.util.Queue; // Buffers free for the next graph building task.
+import java.util.concurrent.Callable; // A unit of work, run on the pool or inline.
+import java.util.concurrent.ConcurrentLinkedQueue; // Hands buffers from finished tasks to later ones.
+import java.util.concurrent.ForkJoinPool; // Runs the graph building and the iterations in parallel.
+
+// This class ranks sentences with TextRank: sentences are nodes of a graph whose edges connect sentences sharing
+// words, and a sentence ranks high when it is similar to many sentences that themselves rank high (PageRank).
+// Comparing every pair of sentences would take O(n^2) time, so the graph is built through an inverted index from
+// terms to the sentences containing them: a sentence is only compared with sentences it shares a word with.
+// Terms found in too many sentences (typically words like "the") are left out of that search, which bounds the work
+// per sentence. The limit is 'maxPostings' or POSTINGS_PER_ROOT * sqrt(n) for n sentences, whichever is larger: a
+// fixed limit would drop more and more ordinary words as documents grow and leave many sentences without any edge
+// (a fifth of them at 100,000 sentences with a limit of 256), while this one keeps the build time at O(n^1.5).
+// Edges weaker than 'minSimilarity' are dropped, each sentence keeps only its 'maxNeighbours' strongest edges, and
+// the graph is stored in compressed sparse row (CSR) form.
+// Building the graph and every power iteration run on the pool when one is given; each sentence's rank is
+// computed by a single task in a fixed order, so the ranks do not depend on the number of threads.
+public class TextRankRanker {
+
+    // Probability of following an edge rather than jumping to a random sentence.
+    public static final double DEFAULT_DAMPING = 0.85;
+
+    // Edges with a lower similarity are dropped.
+    public static final double DEFAULT_MIN_SIMILARITY = 0.05;
+
+    // Strongest edges kept per sentence.
+    public static final int DEFAULT_MAX_NEIGHBOURS = 32;
+
+    // Terms occurring in more sentences than this do not create edges, unless the document is long enough for
+    // POSTINGS_PER_ROOT * sqrt(n) to be larger.
+    public static final int DEFAULT_MAX_POSTINGS = 256;
+
+    // Growth of the posting limit with the square root of the number of sentences.
+    static final int POSTINGS_PER_ROOT = 3;
+
+    // Iteration stops when the ranks change by less than this per sentence on average, or after MAX_ITERATIONS.
+    private static final double TOLERANCE = 1e-6;
+    private static final int MAX_ITERATIONS = 100;
+
+    // Number of fractional bits of the fixed-point scores written by rank().
+    private static final int SCORE_FRACTION_BITS = 24;
+
+    private final double damping;
+    private final double minSimilarity;
+    private final int maxNeighbours;
+    private final int maxPostings;
+
+    // Creates a ranker with the default settings.
+    public TextRankRanker() {
+        this(DEFAULT_DAMPING, DEFAULT_MIN_SIMILARITY, DEFAULT_MAX_NEIGHBOURS, DEFAULT_MAX_POSTINGS);
+    }
+
+    public TextRankRanker(double damping, double minSimilarity, int maxNeighbours, int maxPostings) {
+        if (!(damping > 0 && damping < 1)) {
+            throw new IllegalArgumentException("Damping must be between 0 and 1: " + damping);
+        }
+        if (maxNeighbours <= 0 || maxPostings <= 0) {
+            throw new IllegalArgumentException("Neighbour and posting limits must be positive");
+        }
+        this.damping = damping;
+        this.minSimilarity = minSimilarity;
+        this.maxNeighbours = maxNeighbours;
+        this.maxPostings = maxPostings;
+    }
+
+    // Ranks the sentences of the tokenized text and writes their ranks into 'scores' as fixed-point numbers.
+    // Runs on the pool if it is not null, otherwise on the calling thread.
+    public void rank(TokenizedText tokenized, ForkJoinPool pool, long[] scores, SummaryProgress progress) {
+        int sentenceCount = tokenized.sentenceCount();
+        if (sentenceCount == 0) {
+            return;
+        }
+        Index index = new Index(tokenized);
+        Graph graph = buildGraph(index, pool, progress);
+        double[] ranks = iterate(graph, pool, progress);
+        for (int i = 0; i < sentenceCount; i++) {
+            scores[i] = Math.round(ranks[i] * (1 << SCORE_FRACTION_BITS));
+        }
+    }
+
+    // Builds the similarity graph, one chunk of sentences per task.
+    private Graph buildGraph(Index index, ForkJoinPool pool, SummaryProgress progress) {
+        int sentenceCount = index.sentenceCount;
+        int[] bounds = ParallelStages.evenBounds(pool, sentenceCount);
+        Queue<RowBuffers> spareBuffers = new ConcurrentLinkedQueue<>(); // At most one set per thread is ever created.
+        List<Callable<Rows>> tasks = new ArrayList<>();
+        for (int c = 0; c + 1 < bounds.length; c++) {
+            int from = bounds[c];
+            int to = bounds[c + 1];
+            tasks.add(() -> {
+                RowBuffers buffers = spareBuffers.poll();
+                if (buffers == null) {
+                    buffers = new RowBuffers(sentenceCount);
+                }
+                Rows rows = buildRows(index, from, to, buffers, progress);
+                spareBuffers.add(buffers); // Clean again: every row resets what it used.
+                return rows;
+            });
+        }
+        List<Rows> chunks = ParallelStages.runAll(pool, tasks);
+
+        // Concatenate the rows of all chunks in order.
+        int[] rowStarts = new int[sentenceCount + 1];
+        int edgeCount = 0;
+        for (Rows rows : chunks) {
+            edgeCount += rows.columns.size();
+        }
+        int[] columns = new int[edgeCount];
+        float[] weights = new float[edgeCount];
+        int row = 0;
+        int edge = 0;
+        for (Rows rows : chunks) {
+            System.arraycopy(rows.columns.toArray(), 0, columns, edge, rows.columns.size());
+            System.arraycopy(rows.weights, 0, weights, edge, rows.columns.size());
+            for (int length : rows.lengths) {
+                rowStarts[row++] = edge;
+                edge += length;
+            }
+        }
+        rowStarts[sentenceCount] = edge;
+        return new Graph(rowStarts, columns, weights).transpose();
+    }
+
+    // Finds the strongest edges of sentences [from, to).
+    // The similarity of two sentences is the number of words they share divided by the sum of the logarithms
+    // of their lengths, as in the original TextRank paper.
+    private Rows buildRows(Index index, int from, int to, RowBuffers buffers, SummaryProgress progress) {
+        Rows rows = new Rows(to - from);
+        long postingLimit = Math.max(maxPostings, (long) Math.ceil(POSTINGS_PER_ROOT * Math.sqrt(index.sentenceCount)));
+        int[] overlap = buffers.overlap;
+        IntList touched = buffers.touched;
+        long[] candidates = buffers.candidates;
+        for (int i = from; i < to; i++) {
+            if (((i - from) & 1023) == 0) {
+                progress.checkCancelled();
+            }
+            for (int k = index.termStarts[i]; k < index.termStarts[i + 1]; k++) {
+                int term = index.terms[k];
+                int postingStart = index.postingStarts[term];
+                int postingEnd = index.postingStarts[term + 1];
+                if (postingEnd - postingStart > postingLimit) {
+                    continue; // Too common to tell sentences apart.
+                }
+                for (int p = postingStart; p < postingEnd; p++) {
+                    int j = index.postings[p];
+                    if (j != i && overlap[j]++ == 0) {
+                        touched.add(j);
+                    }
+                }
+            }
+
+            int candidateCount = 0;
+            if (candidates.length < touched.size()) {
+                candidates = buffers.candidates = new long[Math.max(touched.size(), candidates.length * 2)];
+            }
+            for (int t = 0; t < touched.size(); t++) {
+                int j = touched.get(t);
+                double similarity = overlap[j] / (index.logLengths[i] + index.logLengths[j]);
+                overlap[j] = 0;
+                if (similarity >= minSimilarity) {
+                    // Positive floats order like their bit patterns, so the keys sort by weight, then by sentence.
+                    candidates[candidateCount++] = ((long) Float.floatToIntBits((float) similarity) << 32) | (Integer.MAX_VALUE - j);
+                }
+            }
+            touched.clear();
+
+            int first = 0; // Keep every candidate...
+            if (candidateCount > maxNeighbours) {
+                Arrays.sort(candidates, 0, candidateCount); // ...or only the strongest ones, at the end.
+                first = candidateCount - maxNeighbours;
+            }
+            for (int c = first; c < candidateCount; c++) {
+                rows.add(Integer.MAX_VALUE - (int) candidates[c], Float.intBitsToFloat((int) (candidates[c] >>> 32)));
+            }
+            rows.lengths[i - from] = candidateCount - first;
+        }
+        return rows;
+    }
+
+    // Runs power iteration on the graph of incoming edges until the ranks converge.
+    // Ranks are scaled to sum to the number of sentences, so an average sentence has rank 1.
+    private double[] iterate(Graph incoming, ForkJoinPool pool, SummaryProgress progress) {
+        int sentenceCount = incoming.rowStarts.length - 1;
+        double[] ranks = new double[sentenceCount];
+        double[] next = new double[sentenceCount];
+        Arrays.fill(ranks, 1.0);
+        int[] bounds = ParallelStages.evenBounds(pool, sentenceCount);
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            progress.update(SummaryStage.SCORING, iteration, MAX_ITERATIONS);
+
+            // Sentences without edges spread their rank evenly over all sentences.
+            double dangling = 0;
+            for (int i = 0; i < sentenceCount; i++) {
+                if (incoming.danglingSources[i]) {
+                    dangling += ranks[i];
+                }
+            }
+            double base = (1 - damping) + damping * dangling / sentenceCount;
+
+            double[] current = ranks;
+            double[] updated = next;
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int c = 0; c + 1 < bounds.length; c++) {
+                int from = bounds[c];
+                int to = bounds[c + 1];
+                tasks.add(() -> {
+                    progress.checkCancelled();
+                    for (int i = from; i < to; i++) {
+                        double sum = 0;
+                        for (int e = incoming.rowStarts[i]; e < incoming.rowStarts[i + 1]; e++) {
+                            sum += incoming.weights[e] * current[incoming.columns[e]];
+                        }
+                        updated[i] = base + damping * sum;
+                    }
+                    return null;
+                });
+            }
+            ParallelStages.runAll(pool, tasks);
+
+            double change = 0;
+            for (int i = 0; i < sentenceCount; i++) {
+                change += Math.abs(next[i] - ranks[i]);
+            }
+            next = ranks;
+            ranks = updated;
+            if (change < TOLERANCE * sentenceCount) {
+                break;
+            }
+        }
+        return ranks;
+    }
+
+    // Scratch space of one graph building task, handed on to the next task when it is done.
+    private static class RowBuffers {
+        final int[] overlap; // Shared words with each sentence; all zero between rows.
+        final IntList touched = new IntList(); // Sentences with a non-zero overlap in the current row.
+        long[] candidates = new long[64]; // Weight bits in the high half, MAX_VALUE - sentence in the low half.
+
+        RowBuffers(int sentenceCount) {
+            overlap = new int[sentenceCount];
+        }
+    }
+
+    // The distinct terms of every sentence and, inverted, the sentences containing every term.
+    private static class Index {
+        final int sentenceCount;
+        final int[] termStarts; // Distinct terms of sentence i are terms[termStarts[i], termStarts[i + 1]).
+        final int[] terms;
+        final int[] postingStarts; // Sentences containing term t are postings[postingStarts[t], postingStarts[t + 1]).
+        final int[] postings; // In increasing sentence order.
+        final double[] logLengths; // Logarithm of 1 + the number of distinct terms of each sentence.
+
+        Index(TokenizedText tokenized) {
+            sentenceCount = tokenized.sentenceCount();
+            int termCount = tokenized.terms().size();
+            int[] termIds = tokenized.termIds();
+            int[] lastSentence = new int[termCount]; // Last sentence each term was seen in.
+            Arrays.fill(lastSentence, -1);
+            int[] postingCounts = new int[termCount];
+            termStarts = new int[sentenceCount + 1];
+            IntList distinct = new IntList(termIds.length + 1);
+            logLengths = new double[sentenceCount];
+            for (int i = 0; i < sentenceCount; i++) {
+                termStarts[i] = distinct.size();
+                for (int k = tokenized.sentenceTermStart(i); k < tokenized.sentenceTermEnd(i); k++) {
+                    int id = termIds[k];
+                    if (lastSentence[id] != i) {
+                        lastSentence[id] = i;
+                        distinct.add(id);
+                        postingCounts[id]++;
+                    }
+                }
+                logLengths[i] = Math.log(1 + distinct.size() - termStarts[i]);
+            }
+            termStarts[sentenceCount] = distinct.size();
+            terms = distinct.toArray();
+
+            postingStarts = new int[termCount + 1];
+            for (int t = 0; t < termCount; t++) {
+                postingStarts[t + 1] = postingStarts[t] + postingCounts[t];
+            }
+            postings = new int[terms.length];
+            int[] fill = Arrays.copyOf(postingStarts, termCount); // Next free position of each term's list.
+            for (int i = 0; i < sentenceCount; i++) {
+                for (int k = termStarts[i]; k < termStarts[i + 1]; k++) {
+                    postings[fill[terms[k]]++] = i;
+                }
+            }
+        }
+    }
+
+    // A weighted graph in compressed sparse row form: the edges of node i are columns/weights[rowStarts[i], rowStarts[i + 1]).
+    private static class Graph {
+        final int[] rowStarts;
+        final int[] columns;
+        final float[] weights;
+        boolean[] danglingSources; // Nodes without outgoing edges; only set on transposed graphs.
+
+        Graph(int[] rowStarts, int[] columns, float[] weights) {
+            this.rowStarts = rowStarts;
+            this.columns = columns;
+            this.weights = weights;
+        }
+
+        // Returns the graph of incoming edges, each weighted by its share of its source's total outgoing weight.
+        Graph transpose() {
+            int nodeCount = rowStarts.length - 1;
+            int[] inStarts = new int[nodeCount + 1];
+            for (int column : columns) {
+                inStarts[column + 1]++;
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                inStarts[i + 1] += inStarts[i];
+            }
+            int[] inColumns = new int[columns.length];
+            float[] inWeights = new float[columns.length];
+            int[] fill = Arrays.copyOf(inStarts, nodeCount);
+            boolean[] dangling = new boolean[nodeCount];
+            for (int source = 0; source < nodeCount; source++) {
+                double total = 0;
+                for (int e = rowStarts[source]; e < rowStarts[source + 1]; e++) {
+                    total += weights[e];
+                }
+                dangling[source] = total == 0;
+                for (int e = rowStarts[source]; e < rowStarts[source + 1]; e++) {
+                    int position = fill[columns[e]]++;
+                    inColumns[position] = source;
+                    inWeights[position] = (float) (weights[e] / total);
+                }
+            }
+            Graph incoming = new Graph(inStarts, inColumns, inWeights);
+            incoming.danglingSources = dangling;
+            return incoming;
+        }
+    }
+
+    // The edges found by one graph-building task, row after row.
+    private static class Rows {
+        final int[] lengths; // Number of edges of each row.
+        final IntList columns = new IntList();
+        float[] weights = new float[64];
+
+        Rows(int rowCount) {
+            lengths = new int[rowCount];
+        }
+
+        void add(int column, float weight) {
+            if (columns.size() == weights.length) {
+                weights = Arrays.copyOf(weights, weights.length * 2);
+            }
+            weights[columns.size()] = weight;
+            columns.add(column);
+        }
+    }
+}
@@ -1,13 +1,28 @@
 import javax.swing.*; // Swing library for GUI components.
 import java.awt.*; // AWT library for layout and graphics.
 import java.awt.event.ActionEvent; // For handling button events.
+import java.io.File; // For the file chosen in the "Open File" dialog.
+import java.util.List; // Batches of progress updates delivered to process().
+import javax.swing.event.DocumentEvent; // Describes an edit of the input text.
+import javax.swing.event.DocumentListener; // Receives edits of the input text in live mode.
+import javax.swing.text.Document; // The input text area's content.
+import java.util.concurrent.ForkJoinPool; // Shared pool for summarizing large inputs in parallel.
 
 public class TextSummarizerApp {
 
     // Fields to manage text summarization and word processing
-    private final SummaryGenerator summaryGenerator = new SummaryGenerator(); // Generates summaries for input text.
+    private final SummaryGenerator summaryGenerator = new SummaryGenerator(new SentenceSegmenter(), ForkJoinPool.commonPool(), SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD); // Generates summaries; large inputs use all cores.
+    private final SummaryCache summaryCache = new SummaryCache(summaryGenerator, 4_000_000); // Reuses summaries of unchanged text.
     private final WordProcessor wordProcessor = new WordProcessor(); // Counts words in the input and summary text.
     private boolean isDarkMode = true;  // Default theme is dark mode.
+    private SwingWorker<String, ?> summaryWorker; // The running summary job, cancelled when a new one starts.
+    private final LiveSummarizer liveSummarizer = new LiveSummarizer(summaryGenerator); // Incremental state for live mode.
+
+    // Delay after the last keystroke before the live summary is refreshed, in milliseconds.
+    private static final int LIVE_SUMMARY_DELAY = 300;
+
+    // Summary settings for opened files: half of the sentences as usual, but never more than the summary area can show usefully.
+    private static final SummaryOptions FILE_SUMMARY_OPTIONS = SummaryOptions.DEFAULT.withMaxSentences(1000);
 
     public void createAndShowGUI() {
         // **Frame (Main Window)**:
@@ -46,13 +61,25 @@ public class TextSummarizerApp {
             isDarkMode ? Color.DARK_GRAY : Color.LIGHT_GRAY // Background color for the button panel.
         );
         JButton summarizeButton = UIComponents.createButton("Summarize"); // Button to generate summary.
+        JButton openFileButton = UIComponents.createButton("Open File"); // Button to summarize a file too large to paste.
         JButton clearButton = UIComponents.createButton("Clear"); // Button to clear input and summary areas.
         JButton themeToggleButton = UIComponents.createButton("Toggle Theme"); // Button to toggle between dark and light themes.
+        JCheckBox liveCheckBox = new JCheckBox("Live"); // Summarize and count words while typing.
+        liveCheckBox.setFont(StyleManager.getSectionFont());
+        liveCheckBox.setForeground(StyleManager.getTextColor());
+        liveCheckBox.setOpaque(false);
+        JCheckBox noRepeatsCheckBox = new JCheckBox("No Repeats"); // Skip sentences that nearly repeat chosen ones.
+        noRepeatsCheckBox.setFont(StyleManager.getSectionFont());
+        noRepeatsCheckBox.setForeground(StyleManager.getTextColor());
+        noRepeatsCheckBox.setOpaque(false);
 
         // Add buttons to the panel.
         buttonPanel.add(summarizeButton);
+        buttonPanel.add(openFileButton);
         buttonPanel.add(clearButton);
         buttonPanel.add(themeToggleButton);
+        buttonPanel.add(liveCheckBox);
+        buttonPanel.add(noRepeatsCheckBox);
 
         // **Progress Bar**:
         JProgressBar progressBar = new JProgressBar(); // Progress bar for visual feedback.
@@ -60,6 +87,12 @@ public class TextSummarizerApp {
         progressBar.setVisible(false); // Initially hidden.
         buttonPanel.add(progressBar); // Add the progress bar to the button panel.
 
+        // **Status Line**:
+        // Shows how long the last summary took and how big the input was, e.g. "412 ms, 18k sentences, 9k terms".
+        JLabel statusLabel = new JLabel(" ");
+        statusLabel.setFont(StyleManager.getSectionFont());
+        buttonPanel.add(statusLabel);
+
         // **Action Listeners**:
         
         // Listener for the "Summarize" button.
@@ -70,25 +103,48 @@ public class TextSummarizerApp {
                 return;
             }
 
+            // A new click replaces a job that is still running on older text.
+            cancelSummaryWorker();
+            SummaryOptions options = SummaryOptions.DEFAULT.withSkipNearDuplicates(noRepeatsCheckBox.isSelected());
+
             // Show and initialize the progress bar.
             progressBar.setVisible(true);
             progressBar.setIndeterminate(false);
             progressBar.setValue(0);
 
             // **Background Task for Summary Generation**:
-            SwingWorker<String, Void> worker = new SwingWorker<>() {
+            // The generator reports real progress per stage; publish() hands it to process() on the EDT.
+            SwingWorker<String, ProgressUpdate> worker = new SwingWorker<>() {
+                private final long startNanos = System.nanoTime(); // For the status line when no stats arrive.
+                private volatile SummaryStats stats; // Measurements of the summary, null if cached or metrics are off.
+
                 @Override
-                protected String doInBackground() throws Exception {
-                    // Simulate progress steps (e.g., 10 steps for feedback).
-                    for (int i = 0; i <= 100; i += 10) {
-                        Thread.sleep(100); // Simulate work delay.
-                        progressBar.setValue(i); // Update progress bar.
-                    }
-                    return summaryGenerator.generateSummary(inputText); // Generate the summary.
+                protected String doInBackground() {
+                    return summaryCache.generateSummary(inputText, options, new SummaryListener() {
+                        @Override
+                        public void onProgress(SummaryStage stage, int percent) {
+                            publish(new ProgressUpdate(stage, percent));
+                        }
+
+                        @Override
+                        public void onFinished(SummaryStats finished) {
+                            stats = finished;
+                        }
+                    }); // Generate (or reuse) the summary.
+                }
+
+                @Override
+                protected void process(List<ProgressUpdate> updates) {
+                    ProgressUpdate latest = updates.get(updates.size() - 1); // Only the newest update matters.
+                    progressBar.setValue(latest.percent);
+                    progressBar.setString(latest.stage + " " + latest.percent + "%");
                 }
 
                 @Override
                 protected void done() {
+                    if (isCancelled()) {
+                        return; // A newer job owns the progress bar and the summary area.
+                    }
                     try {
                         String summary = get(); // Retrieve the generated summary.
                         summaryTextArea.setText(summary); // Display the summary in the text area.
@@ -96,31 +152,134 @@ public class TextSummarizerApp {
                         // Update word count labels.
                         inputWordCountLabel.setText("                                                    Word Count: " + wordProcessor.countWords(inputText));
                         summaryWordCountLabel.setText("                                                  Word Count: " + wordProcessor.countWords(summary));
-
-                        progressBar.setVisible(false); // Hide progress bar after completion.
+                        statusLabel.setText(stats != null ? stats.toString()
+                            : (System.nanoTime() - startNanos) / 1_000_000 + " ms" + (SummaryMetrics.ENABLED ? ", cached" : ""));
                     } catch (Exception ex) {
                         ex.printStackTrace(); // Print stack trace for debugging.
                         JOptionPane.showMessageDialog(frame, "An error occurred while generating the summary.", "Error", JOptionPane.ERROR_MESSAGE);
                     }
+                    progressBar.setVisible(false); // Hide progress bar after completion.
+                    progressBar.setString(null); // Back to the default percentage text.
                 }
             };
+            summaryWorker = worker;
+            worker.execute(); // Start the background task.
+        });
+
+        // Listener for the "Open File" button.
+        // The file is summarized straight from disk, so it never has to fit in the input text area.
+        openFileButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+                return; // The user cancelled the dialog.
+            }
+            File file = chooser.getSelectedFile();
+
+            cancelSummaryWorker(); // The file summary replaces any running job.
+            progressBar.setVisible(true);
+            progressBar.setIndeterminate(true); // The file summarizer does not report progress.
+
+            SwingWorker<String, Void> worker = new SwingWorker<>() {
+                @Override
+                protected String doInBackground() throws Exception {
+                    return summaryGenerator.summarizeFile(file.toPath(), FILE_SUMMARY_OPTIONS); // Summarize the file.
+                }
+
+                @Override
+                protected void done() {
+                    if (isCancelled()) {
+                        return; // A newer job owns the progress bar and the summary area.
+                    }
+                    progressBar.setIndeterminate(false);
+                    progressBar.setVisible(false);
+                    try {
+                        String summary = get(); // Retrieve the generated summary.
+                        summaryTextArea.setText(summary);
+                        inputWordCountLabel.setText("                                                    File: " + file.getName());
+                        summaryWordCountLabel.setText("                                                  Word Count: " + wordProcessor.countWords(summary));
+                    } catch (Exception ex) {
+                        ex.printStackTrace(); // Print stack trace for debugging.
+                        JOptionPane.showMessageDialog(frame, "An error occurred while summarizing the file.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            };
+            summaryWorker = worker;
             worker.execute(); // Start the background task.
         });
 
         // Listener for the "Clear" button to reset input and output areas.
         clearButton.addActionListener(e -> {
+            cancelSummaryWorker(); // Nothing left to summarize.
             inputTextArea.setText(""); // Clear the input area.
             summaryTextArea.setText(""); // Clear the summary area.
             inputWordCountLabel.setText("                             Word Count: 0");
             summaryWordCountLabel.setText("                           Word Count: 0");
             progressBar.setValue(0); // Reset progress bar value.
             progressBar.setVisible(false); // Hide progress bar.
+            statusLabel.setText(" ");
+        });
+
+        // **Live Mode**:
+        // Every edit updates the word count right away; the summary is refreshed once typing pauses.
+        Document inputDocument = inputTextArea.getDocument();
+        Timer liveSummaryTimer = new Timer(LIVE_SUMMARY_DELAY, e -> {
+            SummaryOptions options = SummaryOptions.DEFAULT.withSkipNearDuplicates(noRepeatsCheckBox.isSelected());
+            String summary = liveSummarizer.summary(new DocumentText(inputDocument), options);
+            summaryTextArea.setText(summary);
+            summaryWordCountLabel.setText("                                                  Word Count: " + wordProcessor.countWords(summary));
+        });
+        liveSummaryTimer.setRepeats(false);
+        DocumentListener liveListener = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                liveSummarizer.edit(new DocumentText(inputDocument), e.getOffset(), 0, e.getLength());
+                liveEditDone();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                liveSummarizer.edit(new DocumentText(inputDocument), e.getOffset(), e.getLength(), 0);
+                liveEditDone();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes do not change the text.
+            }
+
+            private void liveEditDone() {
+                inputWordCountLabel.setText("                                                    Word Count: " + liveSummarizer.getWordCount());
+                liveSummaryTimer.restart(); // Debounce: wait for a pause in typing.
+            }
+        };
+
+        // Listener for the "Live" check box: builds the live state once, then follows every edit.
+        liveCheckBox.addActionListener(e -> {
+            if (liveCheckBox.isSelected()) {
+                cancelSummaryWorker(); // Live mode now owns the summary area.
+                progressBar.setValue(0); // A cancelled worker leaves the progress bar to us.
+                progressBar.setVisible(false);
+                liveSummarizer.reset(new DocumentText(inputDocument));
+                inputDocument.addDocumentListener(liveListener);
+                inputWordCountLabel.setText("                                                    Word Count: " + liveSummarizer.getWordCount());
+                liveSummaryTimer.restart();
+            } else {
+                inputDocument.removeDocumentListener(liveListener);
+                liveSummaryTimer.stop();
+            }
+        });
+
+        // Listener for the "No Repeats" check box: in live mode the summary follows the new setting right away.
+        noRepeatsCheckBox.addActionListener(e -> {
+            if (liveCheckBox.isSelected()) {
+                liveSummaryTimer.restart();
+            }
         });
 
         // Listener for the "Toggle Theme" button to switch between themes.
         themeToggleButton.addActionListener(e -> {
             isDarkMode = !isDarkMode; // Toggle the dark mode flag.
-            updateTheme(frame, inputTextArea, summaryTextArea, inputWordCountLabel, summaryWordCountLabel, titlePanel, buttonPanel); // Apply the theme change.
+            updateTheme(frame, inputTextArea, summaryTextArea, inputWordCountLabel, summaryWordCountLabel, statusLabel, titlePanel, buttonPanel); // Apply the theme change.
         });
 
         // **Main Layout**:
@@ -133,12 +292,31 @@ public class TextSummarizerApp {
         frame.add(mainPanel, BorderLayout.CENTER); // Input and summary sections in the center.
         frame.add(buttonPanel, BorderLayout.SOUTH); // Buttons at the bottom.
 
-        updateTheme(frame, inputTextArea, summaryTextArea, inputWordCountLabel, summaryWordCountLabel, titlePanel, buttonPanel); // Apply theme to all components.
+        updateTheme(frame, inputTextArea, summaryTextArea, inputWordCountLabel, summaryWordCountLabel, statusLabel, titlePanel, buttonPanel); // Apply theme to all components.
         frame.setVisible(true); // Show the GUI window.
     }
 
+    // Cancels the running summary job, if any. Interrupting its thread makes the generator stop early.
+    private void cancelSummaryWorker() {
+        if (summaryWorker != null && !summaryWorker.isDone()) {
+            summaryWorker.cancel(true);
+        }
+        summaryWorker = null;
+    }
+
+    // A progress update published by the summary worker.
+    private static class ProgressUpdate {
+        final SummaryStage stage; // Stage being worked on.
+        final int percent; // Overall progress, 0 to 100.
+
+        ProgressUpdate(SummaryStage stage, int percent) {
+            this.stage = stage;
+            this.percent = percent;
+        }
+    }
+
     // **Theme Update Method**:
-    private void updateTheme(JFrame frame, JTextArea inputTextArea, JTextArea summaryTextArea, JLabel inputWordCountLabel, JLabel summaryWordCountLabel, JPanel titlePanel, JPanel buttonPanel) {
+    private void updateTheme(JFrame frame, JTextArea inputTextArea, JTextArea summaryTextArea, JLabel inputWordCountLabel, JLabel summaryWordCountLabel, JLabel statusLabel, JPanel titlePanel, JPanel buttonPanel) {
         Color backgroundColor = isDarkMode ? Color.BLACK : Color.WHITE; // Background color.
         Color textColor = isDarkMode ? Color.WHITE : Color.BLACK; // Text color.
         Color panelColor = isDarkMode ? Color.BLACK : Color.LIGHT_GRAY; // Panel background.
@@ -151,6 +329,7 @@ public class TextSummarizerApp {
         summaryTextArea.setForeground(textColor); // Summary area text color.
         inputWordCountLabel.setForeground(textColor); // Input word count label text color.
         summaryWordCountLabel.setForeground(textColor); // Summary word count label text color.
+        statusLabel.setForeground(textColor); // Status line text color.
 
         titlePanel.setBackground(panelColor); // Title panel background.
         buttonPanel.setBackground(panelColor); // Button panel background.
@@ -0,0 +1,80 @@
+// This class holds the result of tokenizing every sentence of a document once.
+// The term IDs of sentence i are termIds[sentenceTermStart(i), sentenceTermEnd(i)), and wordFrequency[id]
+// counts how often term 'id' occurs in the whole document.
+public class TokenizedText {
+
+    private final TermTable terms; // Maps words to term IDs.
+    private final int[] termIds; // Term IDs of all sentences, back to back.
+    private final int[] sentenceTermStarts; // Where each sentence's term IDs start; has one extra entry at the end.
+    private final int[] wordFrequency; // Number of occurrences of each term, indexed by term ID.
+
+    public TokenizedText(TermTable terms, int[] termIds, int[] sentenceTermStarts, int[] wordFrequency) {
+        this.terms = terms;
+        this.termIds = termIds;
+        this.sentenceTermStarts = sentenceTermStarts;
+        this.wordFrequency = wordFrequency;
+    }
+
+    // Tokenizes the given sentence spans of the text on the calling thread.
+    public static TokenizedText tokenize(CharSequence text, IntList sentenceStarts, IntList sentenceEnds, int sentenceCount) {
+        return tokenize(text, sentenceStarts, sentenceEnds, sentenceCount, new TermTable(), new WordTokenizer(),
+            new IntList(text.length() / 4 + 1), new SummaryProgress(SummaryListener.NONE));
+    }
+
+    // Same as above, but fills the given (empty) term table and uses 'termIds' as scratch space, so callers
+    // summarizing many texts can reuse them. Progress is reported every few thousand sentences.
+    public static TokenizedText tokenize(CharSequence text, IntList sentenceStarts, IntList sentenceEnds, int sentenceCount,
+                                         TermTable terms, WordTokenizer tokenizer, IntList termIds, SummaryProgress progress) {
+        int[] sentenceTermStarts = new int[sentenceCount + 1];
+        for (int i = 0; i < sentenceCount; i++) { // Loop through each sentence.
+            if ((i & 4095) == 0) {
+                progress.update(SummaryStage.FREQUENCY, i, sentenceCount);
+            }
+            sentenceTermStarts[i] = termIds.size();
+            tokenizer.tokenize(text, sentenceStarts.get(i), sentenceEnds.get(i), terms, termIds);
+        }
+        sentenceTermStarts[sentenceCount] = termIds.size();
+
+        int[] ids = termIds.toArray();
+        int[] wordFrequency = new int[terms.size()];
+        for (int id : ids) {
+            wordFrequency[id]++;
+        }
+        return new TokenizedText(terms, ids, sentenceTermStarts, wordFrequency);
+    }
+
+    // Returns the table of distinct words.
+    public TermTable terms() {
+        return terms;
+    }
+
+    // Returns the term IDs of all sentences, back to back.
+    public int[] termIds() {
+        return termIds;
+    }
+
+    // Returns the frequency of every term, indexed by term ID.
+    public int[] wordFrequency() {
+        return wordFrequency;
+    }
+
+    // Returns the number of sentences.
+    public int sentenceCount() {
+        return sentenceTermStarts.length - 1;
+    }
+
+    // Returns the index in termIds() of the first term of the given sentence.
+    public int sentenceTermStart(int sentence) {
+        return sentenceTermStarts[sentence];
+    }
+
+    // Returns the index in termIds() just past the last term of the given sentence.
+    public int sentenceTermEnd(int sentence) {
+        return sentenceTermStarts[sentence + 1];
+    }
+
+    // Returns the number of words in the given sentence.
+    public int sentenceLength(int sentence) {
+        return sentenceTermStarts[sentence + 1] - sentenceTermStarts[sentence];
+    }
+}
@@ -7,12 +7,21 @@ public class WordProcessor {
         if (text == null || text.isEmpty()) {
             return 0; // If no text, return 0 words
         }
+        return countWords(text, 0, text.length());
+    }
 
-        // Remove leading and trailing spaces, then split the text by spaces
-        // The split uses the regular expression "\\s+" which matches any whitespace character (spaces, tabs, etc.)
-        String[] words = text.trim().split("\\s+");
-
-        // Return the number of words by checking the length of the words array
-        return words.length;
+    // This method counts the words in text[start, end) without creating any strings.
+    // A word is a run of characters other than whitespace, the same as splitting the trimmed text on "\\s+".
+    public int countWords(CharSequence text, int start, int end) {
+        int words = 0;
+        boolean inWord = false; // Whether the previous character belonged to a word.
+        for (int i = start; i < end; i++) {
+            boolean whitespace = WordTokenizer.isWhitespace(text.charAt(i));
+            if (!whitespace && !inWord) {
+                words++; // A new word starts here.
+            }
+            inWord = !whitespace;
+        }
+        return words;
     }
 }
@@ -0,0 +1,50 @@
+import java.util.Arrays; // For growing the word buffer.
+
+// This class splits text into normalized words in a single pass over the characters.
+// A word is a run of non-whitespace characters; it is lowercased and stripped of everything
+// except the letters a-z, then mapped to its term ID in a TermTable.
+public class WordTokenizer {
+
+    private char[] buffer = new char[32]; // Reusable buffer holding the current normalized word.
+
+    // Tokenizes text[start, end), adds every word to the term table and appends its ID to 'out'.
+    // Returns the number of term IDs that were appended.
+    public int tokenize(CharSequence text, int start, int end, TermTable terms, IntList out) {
+        int added = 0;
+        int length = 0; // Length of the normalized word collected so far.
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) { // Whitespace ends the current word.
+                if (length > 0) {
+                    out.add(terms.add(buffer, length));
+                    added++;
+                    length = 0;
+                }
+            } else if (c >= 'a' && c <= 'z') {
+                length = append(length, c);
+            } else if (c >= 'A' && c <= 'Z') {
+                length = append(length, (char) (c + ('a' - 'A'))); // Lowercase ASCII letters.
+            }
+            // Any other character (digits, punctuation, ...) is dropped from the word.
+        }
+        if (length > 0) { // Flush the last word of the range.
+            out.add(terms.add(buffer, length));
+            added++;
+        }
+        return added;
+    }
+
+    // Returns true for the characters matched by the regex "\\s": space, tab, newline, vertical tab, form feed and carriage return.
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    // Appends a character to the word buffer, growing it for very long words.
+    private int append(int length, char c) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length] = c;
+        return length + 1;
+    }
+}
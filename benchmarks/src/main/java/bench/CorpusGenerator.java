@@ -0,0 +1,129 @@
+package bench;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+// This class generates reproducible English-like test documents.
+// Words are drawn from a fixed synthetic vocabulary with a Zipf distribution (a few very common words, a long tail
+// of rare ones), sentences have 4 to 28 words, some contain titles such as "Dr." and some end with '?' or '!'.
+// The same seed and size always produce the same text, so benchmark results are comparable between runs.
+// Run it directly to write a corpus file: CorpusGenerator <size-in-bytes> <output-file> [seed]
+public final class CorpusGenerator {
+
+    public static final long DEFAULT_SEED = 42;
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ne", "ra", "su", "ti", "vo", "ze", "an", "el", "in", "or", "ub", "ch", "st", "tr", "pl", "gr", "th"
+    };
+    private static final String[] TITLES = {"Mr.", "Mrs.", "Dr."};
+
+    private final Random random;
+    private final String[] vocabulary;
+    private final double[] cumulative; // Cumulative Zipf probabilities of the vocabulary.
+
+    public CorpusGenerator(long seed) {
+        random = new Random(seed);
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 1 + random.nextInt(i < 100 ? 2 : 4); // Common words are short.
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary[i] = word.toString();
+        }
+        cumulative = new double[VOCABULARY_SIZE];
+        double total = 0;
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    // Returns a document of exactly 'size' characters built with the default seed.
+    public static String generate(int size) {
+        StringBuilder text = new StringBuilder(size + 256);
+        new CorpusGenerator(DEFAULT_SEED).appendTo(text, size);
+        return text.toString();
+    }
+
+    // Appends sentences until the text holds at least 'size' characters, then cuts it to exactly 'size'.
+    public void appendTo(StringBuilder text, int size) {
+        int start = text.length();
+        int sentencesInParagraph = 0;
+        while (text.length() - start < size) {
+            appendSentence(text);
+            if (++sentencesInParagraph == 6) {
+                text.append("\n\n");
+                sentencesInParagraph = 0;
+            } else {
+                text.append(' ');
+            }
+        }
+        text.setLength(start + size);
+    }
+
+    private void appendSentence(StringBuilder text) {
+        int words = 4 + random.nextInt(25);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            if (random.nextInt(60) == 0) {
+                text.append(TITLES[random.nextInt(TITLES.length)]).append(' '); // Exercises the abbreviation check.
+            }
+            String word = vocabulary[zipfIndex()];
+            if (w == 0) {
+                text.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                text.append(word);
+            }
+            if (w + 1 < words && random.nextInt(12) == 0) {
+                text.append(',');
+            }
+        }
+        int end = random.nextInt(100);
+        text.append(end < 5 ? '?' : end < 8 ? '!' : '.');
+    }
+
+    private int zipfIndex() {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = VOCABULARY_SIZE - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] < u) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CorpusGenerator <size-in-bytes> <output-file> [seed]");
+            System.exit(2);
+        }
+        long size = Long.parseLong(args[0]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        CorpusGenerator generator = new CorpusGenerator(seed);
+        try (Writer out = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+            StringBuilder chunk = new StringBuilder();
+            for (long written = 0; written < size; written += chunk.length()) {
+                chunk.setLength(0);
+                generator.appendTo(chunk, (int) Math.min(1 << 20, size - written)); // Write 1 MB at a time.
+                out.append(chunk);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compares the frequency ranker with the TextRank ranker on whole summaries of the same corpora.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class RankerBenchmark {
+
+    // Corpus size in characters (10 KB, 100 KB, 1 MB, 10 MB).
+    @Param({"10240", "102400", "1048576", "10485760"})
+    public int size;
+
+    @Param({"frequency", "textrank"})
+    public String ranker;
+
+    private String text;
+    private Object generator;
+    private Object options;
+
+    @Setup
+    public void setUp() throws Throwable {
+        text = CorpusGenerator.generate(size);
+        generator = Summarizer.newGenerator();
+        options = Summarizer.optionsWithRanker(ranker);
+    }
+
+    @Benchmark
+    public String generateSummary() throws Throwable {
+        return Summarizer.generateSummary(generator, text, options);
+    }
+}
@@ -0,0 +1,76 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks each stage of SummaryGenerator on its own: segmentation, frequency counting, scoring and selection.
+// Every stage gets the output of the previous stages precomputed in setUp(), so only the stage itself is measured.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class StageBenchmark {
+
+    // Corpus size in characters (1 KB, 100 KB, 10 MB, 100 MB).
+    @Param({"1024", "102400", "10485760", "104857600"})
+    public int size;
+
+    private String text;
+    private Object segmenter;
+    private Object starts; // Sentence spans, reused by the segmentation benchmark.
+    private Object ends;
+    private Object segmentedStarts; // Sentence spans of the whole text, input of the frequency stage.
+    private Object segmentedEnds;
+    private int sentenceCount;
+    private Object tokenized; // Input of the scoring stage.
+    private long[] scores; // Output of the scoring stage and input of the selection stage.
+
+    @Setup
+    public void setUp() throws Throwable {
+        text = CorpusGenerator.generate(size);
+        segmenter = Summarizer.newSegmenter();
+        starts = Summarizer.newIntList();
+        ends = Summarizer.newIntList();
+        segmentedStarts = Summarizer.newIntList();
+        segmentedEnds = Summarizer.newIntList();
+        sentenceCount = Summarizer.segment(segmenter, text, segmentedStarts, segmentedEnds);
+        tokenized = Summarizer.tokenize(text, segmentedStarts, segmentedEnds, sentenceCount);
+        scores = new long[Summarizer.sentenceCount(tokenized)];
+        Summarizer.scoreSentences(tokenized, scores);
+    }
+
+    @Benchmark
+    public int segmentation() throws Throwable {
+        Summarizer.clear(starts);
+        Summarizer.clear(ends);
+        return Summarizer.segment(segmenter, text, starts, ends);
+    }
+
+    @Benchmark
+    public Object frequency() throws Throwable {
+        return Summarizer.tokenize(text, segmentedStarts, segmentedEnds, sentenceCount);
+    }
+
+    @Benchmark
+    public long[] scoring() throws Throwable {
+        Summarizer.scoreSentences(tokenized, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public int[] selection() throws Throwable {
+        return Summarizer.selectTop(scores, scores.length / 2);
+    }
+}
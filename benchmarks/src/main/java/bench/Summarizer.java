@@ -0,0 +1,143 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// This class calls into the summarizer classes from the benchmark package.
+// The application classes live in the default package, which cannot be imported from a named package, and JMH
+// refuses benchmarks in the default package. Every entry point is therefore bound once to a static final
+// MethodHandle; the JIT inlines such handles, so the calls cost the same as direct ones.
+final class Summarizer {
+
+    private static final MethodHandle NEW_GENERATOR;
+    private static final MethodHandle GENERATE_SUMMARY;
+    private static final MethodHandle DEFAULT_OPTIONS;
+    private static final MethodHandle PARSE_RANKER;
+    private static final MethodHandle WITH_RANKER;
+    private static final MethodHandle NEW_WORD_PROCESSOR;
+    private static final MethodHandle COUNT_WORDS;
+    private static final MethodHandle NEW_SEGMENTER;
+    private static final MethodHandle SEGMENT;
+    private static final MethodHandle NEW_INT_LIST;
+    private static final MethodHandle CLEAR_INT_LIST;
+    private static final MethodHandle TOKENIZE;
+    private static final MethodHandle SENTENCE_COUNT;
+    private static final MethodHandle SCORE_SENTENCES;
+    private static final MethodHandle SELECT_TOP;
+
+    static {
+        try {
+            Class<?> generator = Class.forName("SummaryGenerator");
+            Class<?> options = Class.forName("SummaryOptions");
+            Class<?> wordProcessor = Class.forName("WordProcessor");
+            Class<?> segmenter = Class.forName("SentenceSegmenter");
+            Class<?> intList = Class.forName("IntList");
+            Class<?> tokenized = Class.forName("TokenizedText");
+            Class<?> selector = Class.forName("SentenceSelector");
+            Class<?> ranker = Class.forName("SummaryRanker");
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(generator, MethodHandles.lookup());
+
+            NEW_GENERATOR = erase(lookup.findConstructor(generator, MethodType.methodType(void.class)));
+            GENERATE_SUMMARY = erase(lookup.findVirtual(generator, "generateSummary",
+                MethodType.methodType(String.class, CharSequence.class, options)));
+            DEFAULT_OPTIONS = erase(lookup.findStaticGetter(options, "DEFAULT", options));
+            PARSE_RANKER = erase(lookup.findStatic(ranker, "parse", MethodType.methodType(ranker, String.class)));
+            WITH_RANKER = erase(lookup.findVirtual(options, "withRanker", MethodType.methodType(options, ranker)));
+            NEW_WORD_PROCESSOR = erase(lookup.findConstructor(wordProcessor, MethodType.methodType(void.class)));
+            COUNT_WORDS = erase(lookup.findVirtual(wordProcessor, "countWords", MethodType.methodType(int.class, String.class)));
+            NEW_SEGMENTER = erase(lookup.findConstructor(segmenter, MethodType.methodType(void.class)));
+            SEGMENT = erase(lookup.findVirtual(segmenter, "segment",
+                MethodType.methodType(int.class, CharSequence.class, int.class, int.class, intList, intList)));
+            NEW_INT_LIST = erase(lookup.findConstructor(intList, MethodType.methodType(void.class)));
+            CLEAR_INT_LIST = erase(lookup.findVirtual(intList, "clear", MethodType.methodType(void.class)));
+            TOKENIZE = erase(lookup.findStatic(tokenized, "tokenize",
+                MethodType.methodType(tokenized, CharSequence.class, intList, intList, int.class)));
+            SENTENCE_COUNT = erase(lookup.findVirtual(tokenized, "sentenceCount", MethodType.methodType(int.class)));
+            SCORE_SENTENCES = erase(lookup.findStatic(generator, "scoreSentences",
+                MethodType.methodType(void.class, tokenized, long[].class, int.class, int.class)));
+            SELECT_TOP = erase(lookup.findStatic(selector, "selectTop",
+                MethodType.methodType(int[].class, long[].class, int.class, int.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Summarizer() {
+    }
+
+    // Replaces every application type in the handle's signature by Object, so it can be invoked exactly from here.
+    private static MethodHandle erase(MethodHandle handle) {
+        MethodType type = handle.type();
+        for (int i = 0; i < type.parameterCount(); i++) {
+            if (isApplicationType(type.parameterType(i))) {
+                type = type.changeParameterType(i, Object.class);
+            }
+        }
+        if (isApplicationType(type.returnType())) {
+            type = type.changeReturnType(Object.class);
+        }
+        return handle.asType(type);
+    }
+
+    private static boolean isApplicationType(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && type.getPackageName().isEmpty();
+    }
+
+    static Object newGenerator() throws Throwable {
+        return (Object) NEW_GENERATOR.invokeExact();
+    }
+
+    static String generateSummary(Object generator, CharSequence text, Object options) throws Throwable {
+        return (String) GENERATE_SUMMARY.invokeExact(generator, text, options);
+    }
+
+    static Object defaultOptions() throws Throwable {
+        return (Object) DEFAULT_OPTIONS.invokeExact();
+    }
+
+    // Returns the default length settings with the given ranker ("frequency" or "textrank").
+    static Object optionsWithRanker(String ranker) throws Throwable {
+        return (Object) WITH_RANKER.invokeExact(defaultOptions(), (Object) PARSE_RANKER.invokeExact(ranker));
+    }
+
+    static Object newWordProcessor() throws Throwable {
+        return (Object) NEW_WORD_PROCESSOR.invokeExact();
+    }
+
+    static int countWords(Object wordProcessor, String text) throws Throwable {
+        return (int) COUNT_WORDS.invokeExact(wordProcessor, text);
+    }
+
+    static Object newSegmenter() throws Throwable {
+        return (Object) NEW_SEGMENTER.invokeExact();
+    }
+
+    static int segment(Object segmenter, CharSequence text, Object starts, Object ends) throws Throwable {
+        return (int) SEGMENT.invokeExact(segmenter, text, 0, text.length(), starts, ends);
+    }
+
+    static Object newIntList() throws Throwable {
+        return (Object) NEW_INT_LIST.invokeExact();
+    }
+
+    static void clear(Object intList) throws Throwable {
+        CLEAR_INT_LIST.invokeExact(intList);
+    }
+
+    static Object tokenize(CharSequence text, Object starts, Object ends, int sentenceCount) throws Throwable {
+        return (Object) TOKENIZE.invokeExact(text, starts, ends, sentenceCount);
+    }
+
+    static int sentenceCount(Object tokenized) throws Throwable {
+        return (int) SENTENCE_COUNT.invokeExact(tokenized);
+    }
+
+    static void scoreSentences(Object tokenized, long[] scores) throws Throwable {
+        SCORE_SENTENCES.invokeExact(tokenized, scores, 0, scores.length);
+    }
+
+    static int[] selectTop(long[] scores, int k) throws Throwable {
+        return (int[]) SELECT_TOP.invokeExact(scores, scores.length, k);
+    }
+}
@@ -0,0 +1,51 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// End-to-end benchmarks: a whole summary and a whole word count, on generated corpora from 1 KB to 100 MB.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SummaryBenchmark {
+
+    // Corpus size in characters (1 KB, 100 KB, 10 MB, 100 MB).
+    @Param({"1024", "102400", "10485760", "104857600"})
+    public int size;
+
+    private String text;
+    private Object generator;
+    private Object options;
+    private Object wordProcessor;
+
+    @Setup
+    public void setUp() throws Throwable {
+        text = CorpusGenerator.generate(size);
+        generator = Summarizer.newGenerator();
+        options = Summarizer.defaultOptions();
+        wordProcessor = Summarizer.newWordProcessor();
+    }
+
+    @Benchmark
+    public String generateSummary() throws Throwable {
+        return Summarizer.generateSummary(generator, text, options);
+    }
+
+    @Benchmark
+    public int countWords() throws Throwable {
+        return Summarizer.countWords(wordProcessor, text);
+    }
+}
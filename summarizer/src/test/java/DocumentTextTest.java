@@ -0,0 +1,39 @@
+import static org.junit.jupiter.api.Assertions.assertEquals; // Characters must match exactly.
+
+import java.util.Random; // Seeded, so the edits are the same on every run.
+import javax.swing.text.BadLocationException; // Thrown by document edits.
+import javax.swing.text.PlainDocument; // The document type of a JTextArea.
+import org.junit.jupiter.api.Test; // Marks test methods.
+
+// This class checks that DocumentText reads the same characters as a full copy of the document, wherever the
+// document's gap happens to be.
+class DocumentTextTest {
+
+    @Test
+    void readsTheDocumentAroundItsGap() throws BadLocationException {
+        String source = TestTexts.document(3, 300);
+        PlainDocument document = new PlainDocument();
+        document.insertString(0, source, null);
+        Random random = new Random(5);
+        for (int edit = 0; edit < 100; edit++) {
+            int offset = random.nextInt(document.getLength() + 1); // Moves the gap here.
+            if (random.nextBoolean() && document.getLength() > 100) {
+                document.remove(offset, Math.min(random.nextInt(50), document.getLength() - offset));
+            } else {
+                document.insertString(offset, source.substring(0, random.nextInt(50)), null);
+            }
+
+            String copy = document.getText(0, document.getLength());
+            DocumentText text = new DocumentText(document);
+            assertEquals(copy.length(), text.length());
+            for (int k = 0; k < 300; k++) { // Random reads, forwards and backwards, across the gap.
+                int index = random.nextInt(copy.length());
+                assertEquals(copy.charAt(index), text.charAt(index), "index " + index + " after edit " + edit);
+            }
+            for (int index = Math.max(0, offset - 40); index < Math.min(copy.length(), offset + 40); index++) {
+                assertEquals(copy.charAt(index), text.charAt(index), "index " + index + " after edit " + edit);
+            }
+            assertEquals(copy, text.toString());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+import static org.junit.jupiter.api.Assertions.assertEquals; // Summaries must match exactly.
+import static org.junit.jupiter.api.Assertions.assertThrows; // Oversized summaries are rejected.
+
+import java.io.IOException; // Thrown by file access.
+import java.nio.charset.StandardCharsets; // Test files are UTF-8.
+import java.nio.file.Files; // Writes the test files.
+import java.nio.file.Path; // Location of the test files.
+import org.junit.jupiter.api.Test; // Marks test methods.
+import org.junit.jupiter.api.io.TempDir; // A fresh directory per test.
+
+// This class checks that summarizing a file through memory-mapped windows gives the summary of its decoded text.
+class FileSummarizerTest {
+
+    private static final SummaryOptions[] OPTIONS = {
+        SummaryOptions.DEFAULT,
+        SummaryOptions.ratio(0.1),
+        SummaryOptions.sentences(9),
+        SummaryOptions.DEFAULT.withMaxSentences(20),
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fileSummaryEqualsTextSummary() throws IOException {
+        SentenceSegmenter segmenter = new SentenceSegmenter();
+        SummaryGenerator generator = new SummaryGenerator(segmenter, null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, null);
+        for (long seed = 1; seed <= 3; seed++) {
+            String text = TestTexts.document(seed, 1500);
+            Path file = write("document" + seed + ".txt", text);
+            for (int windowSize : new int[] {4096, 100_000, FileSummarizer.DEFAULT_WINDOW_SIZE}) { // Small windows cut sentences.
+                FileSummarizer summarizer = new FileSummarizer(segmenter, windowSize);
+                for (SummaryOptions options : OPTIONS) {
+                    assertEquals(generator.generateSummary(text, options), summarizer.summarize(file, options),
+                        options + ", window " + windowSize + ", seed " + seed);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fileSummaryEqualsTextSummaryWithIdfIndex() throws IOException {
+        IdfIndexBuilder builder = new IdfIndexBuilder();
+        for (long seed = 10; seed < 20; seed++) {
+            builder.addDocument(TestTexts.document(seed, 200));
+        }
+        Path indexFile = directory.resolve("corpus.idf");
+        builder.write(indexFile);
+        IdfIndex index = IdfIndex.open(indexFile);
+
+        SentenceSegmenter segmenter = new SentenceSegmenter();
+        SummaryGenerator generator = new SummaryGenerator(segmenter, null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, index);
+        FileSummarizer summarizer = new FileSummarizer(segmenter, 8192, index);
+        String text = TestTexts.document(4, 1500);
+        Path file = write("document.txt", text);
+        for (SummaryOptions options : OPTIONS) {
+            assertEquals(generator.generateSummary(text, options), summarizer.summarize(file, options), options.toString());
+        }
+    }
+
+    @Test
+    void curlyQuotesCloseSentencesInFilesToo() throws IOException {
+        String text = "“Hi.” She said. Ok. ‘Fine!’ he said, and left.";
+        Path file = write("quotes.txt", text);
+        SummaryGenerator generator = new SummaryGenerator(new SentenceSegmenter(), null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, null);
+        for (int count = 1; count <= 4; count++) {
+            SummaryOptions options = SummaryOptions.sentences(count);
+            assertEquals(generator.generateSummary(text, options), generator.summarizeFile(file, options), options.toString());
+        }
+    }
+
+    @Test
+    void streamedSummaryEqualsReturnedSummary() throws IOException {
+        Path file = write("document.txt", TestTexts.document(5, 800));
+        FileSummarizer summarizer = new FileSummarizer(new SentenceSegmenter(), 4096);
+        StringBuilder streamed = new StringBuilder();
+        summarizer.summarize(file, SummaryOptions.DEFAULT, streamed);
+        assertEquals(summarizer.summarize(file, SummaryOptions.DEFAULT), streamed.toString());
+    }
+
+    @Test
+    void rejectsSummariesAboveTheSentenceCap() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < FileSummarizer.MAX_SUMMARY_SENTENCES + 10; i++) {
+            text.append("A. ");
+        }
+        Path file = write("many.txt", text.toString());
+        FileSummarizer summarizer = new FileSummarizer(new SentenceSegmenter());
+        assertThrows(IllegalArgumentException.class, () -> summarizer.summarize(file, SummaryOptions.ratio(1)));
+        assertEquals(5, summarizer.summarize(file, SummaryOptions.ratio(1).withMaxSentences(5)).split(" ").length);
+    }
+
+    private Path write(String name, String text) throws IOException {
+        Path file = directory.resolve(name);
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,40 @@
+import static org.junit.jupiter.api.Assertions.assertEquals; // Same contents, same description.
+import static org.junit.jupiter.api.Assertions.assertNotEquals; // Different contents, different description.
+
+import java.io.IOException; // Thrown while writing the indexes.
+import java.nio.file.Path; // Locations of the indexes.
+import org.junit.jupiter.api.Test; // Marks test methods.
+import org.junit.jupiter.api.io.TempDir; // A fresh directory for the indexes.
+
+// This class checks that the scoring description used in cache keys tells apart indexes that differ only in
+// their contents.
+class IdfIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void indexesWithTheSameNameAndCountsHaveDifferentScorings() throws IOException {
+        IdfIndex first = build("first", "Alpha beta. Alpha beta.", "Gamma delta.");
+        IdfIndex second = build("second", "Alpha beta.", "Alpha delta. Gamma.");
+        assertEquals(first.size(), second.size());
+        assertEquals(first.documentCount(), second.documentCount());
+        assertNotEquals(scoring(first), scoring(second));
+        assertEquals(scoring(first), scoring(build("third", "Alpha beta. Alpha beta.", "Gamma delta.")));
+    }
+
+    // Builds an index of the given documents as "corpus.idf" in its own subdirectory.
+    private IdfIndex build(String subdirectory, String... documents) throws IOException {
+        IdfIndexBuilder builder = new IdfIndexBuilder();
+        for (String document : documents) {
+            builder.addDocument(document);
+        }
+        Path file = directory.resolve(subdirectory).resolve("corpus.idf");
+        builder.write(file);
+        return IdfIndex.open(file);
+    }
+
+    private static String scoring(IdfIndex index) {
+        return new SummaryGenerator(new SentenceSegmenter(), null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, index).getScoring();
+    }
+}
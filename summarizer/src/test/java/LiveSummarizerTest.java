@@ -0,0 +1,83 @@
+import static org.junit.jupiter.api.Assertions.assertEquals; // Summaries and counts must match exactly.
+
+import java.io.IOException; // Thrown while writing the IDF index.
+import java.nio.file.Path; // Location of the IDF index.
+import java.util.Random; // Seeded, so the edits are the same on every run.
+import org.junit.jupiter.api.Test; // Marks test methods.
+import org.junit.jupiter.api.io.TempDir; // A fresh directory for the IDF index.
+
+// This class checks that a LiveSummarizer updated edit by edit ends up where a fresh reset() would, and that
+// its summaries are those of SummaryGenerator.
+class LiveSummarizerTest {
+
+    private static final SummaryOptions[] OPTIONS = {
+        SummaryOptions.DEFAULT,
+        SummaryOptions.words(120),
+        SummaryOptions.sentences(10).withSkipNearDuplicates(true),
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void editsMatchResetAndGenerator() {
+        checkRandomEdits(new SummaryGenerator(new SentenceSegmenter(), null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, null));
+    }
+
+    @Test
+    void editsMatchResetAndGeneratorWithIdfIndex() throws IOException {
+        IdfIndexBuilder builder = new IdfIndexBuilder();
+        for (long seed = 10; seed < 20; seed++) {
+            builder.addDocument(TestTexts.document(seed, 200));
+        }
+        Path indexFile = directory.resolve("corpus.idf");
+        builder.write(indexFile);
+        checkRandomEdits(new SummaryGenerator(new SentenceSegmenter(), null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, IdfIndex.open(indexFile)));
+    }
+
+    @Test
+    void deletingAPeriodMergesSentences() {
+        LiveSummarizer live = new LiveSummarizer(new SummaryGenerator());
+        StringBuilder text = new StringBuilder("One two. Three four. Five six.");
+        live.reset(text);
+        assertEquals(3, live.getSentenceCount());
+        int period = text.indexOf(".", 10);
+        text.deleteCharAt(period);
+        live.edit(text, period, 1, 0);
+        assertEquals(2, live.getSentenceCount());
+        assertEquals(6, live.getWordCount());
+    }
+
+    // Applies random insertions and deletions, comparing the live state after each one.
+    private static void checkRandomEdits(SummaryGenerator generator) {
+        String source = TestTexts.document(7, 600); // Inserted snippets come from here.
+        StringBuilder text = new StringBuilder(source.substring(0, 15_000));
+        LiveSummarizer live = new LiveSummarizer(generator);
+        live.reset(text);
+        Random random = new Random(42);
+        for (int edit = 0; edit < 200; edit++) {
+            int offset = random.nextInt(text.length() + 1);
+            if (random.nextBoolean() && text.length() > 100) {
+                int length = Math.min(random.nextInt(60), text.length() - offset);
+                text.delete(offset, offset + length);
+                live.edit(text, offset, length, 0);
+            } else {
+                int start = random.nextInt(source.length() - 60);
+                String inserted = source.substring(start, start + random.nextInt(60));
+                text.insert(offset, inserted);
+                live.edit(text, offset, 0, inserted.length());
+            }
+
+            LiveSummarizer fresh = new LiveSummarizer(generator);
+            fresh.reset(text);
+            String context = "after edit " + edit;
+            assertEquals(fresh.getSentenceCount(), live.getSentenceCount(), context);
+            assertEquals(fresh.getWordCount(), live.getWordCount(), context);
+            for (SummaryOptions options : OPTIONS) {
+                String summary = live.summary(text, options);
+                assertEquals(fresh.summary(text, options), summary, options + ", " + context);
+                assertEquals(generator.generateSummary(text, options), summary, options + ", " + context);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals; // Term IDs and scores must match exactly.
+import static org.junit.jupiter.api.Assertions.assertEquals; // Summaries must match exactly.
+
+import java.util.concurrent.ForkJoinPool; // Pool for the parallel mode.
+import org.junit.jupiter.api.AfterAll; // Shuts the pool down.
+import org.junit.jupiter.api.Test; // Marks test methods.
+
+// This class checks that the parallel mode of SummaryGenerator gives exactly the sequential results.
+class ParallelStagesTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4); // More chunks than the sandbox has cores is fine.
+
+    @AfterAll
+    static void shutDown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void tokenizeAssignsTheSequentialTermIds() {
+        String text = TestTexts.document(1, 3000);
+        IntList starts = new IntList();
+        IntList ends = new IntList();
+        int count = new SentenceSegmenter().segment(text, 0, text.length(), starts, ends);
+        SummaryProgress progress = new SummaryProgress(SummaryListener.NONE);
+
+        TokenizedText sequential = TokenizedText.tokenize(text, starts, ends, count);
+        TokenizedText parallel = ParallelStages.tokenize(POOL, text, starts, ends, count, progress);
+        assertArrayEquals(sequential.termIds(), parallel.termIds());
+        assertArrayEquals(sequential.wordFrequency(), parallel.wordFrequency());
+        for (int i = 0; i < count; i++) {
+            assertEquals(sequential.sentenceTermStart(i), parallel.sentenceTermStart(i));
+            assertEquals(sequential.sentenceTermEnd(i), parallel.sentenceTermEnd(i));
+        }
+
+        long[] sequentialScores = new long[count];
+        long[] parallelScores = new long[count];
+        SummaryGenerator.scoreSentences(sequential, null, sequentialScores, 0, count);
+        ParallelStages.score(POOL, parallel, null, parallelScores, progress);
+        assertArrayEquals(sequentialScores, parallelScores);
+    }
+
+    @Test
+    void parallelSummariesEqualSequentialOnes() {
+        SentenceSegmenter segmenter = new SentenceSegmenter();
+        SummaryGenerator sequential = new SummaryGenerator(segmenter, null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, null);
+        SummaryGenerator parallel = new SummaryGenerator(segmenter, POOL, 0, null); // Every input takes the parallel path.
+        SummaryOptions[] options = {
+            SummaryOptions.DEFAULT,
+            SummaryOptions.sentences(12),
+            SummaryOptions.words(150),
+            SummaryOptions.ratio(0.3).withSkipNearDuplicates(true),
+            SummaryOptions.sentences(12).withRanker(SummaryRanker.TEXTRANK),
+        };
+        for (long seed = 1; seed <= 3; seed++) {
+            String text = TestTexts.document(seed, 2000);
+            for (SummaryOptions option : options) {
+                assertEquals(sequential.generateSummary(text, option), parallel.generateSummary(text, option), option + ", seed " + seed);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import static org.junit.jupiter.api.Assertions.assertEquals; // For the exact cases.
+import static org.junit.jupiter.api.Assertions.assertFalse; // For the exact cases.
+import static org.junit.jupiter.api.Assertions.assertTrue; // Recall and precision bounds.
+
+import java.util.ArrayList; // Sentences generated so far.
+import java.util.List; // Sentences generated so far.
+import java.util.Random; // Seeded, so the sentences are the same on every run.
+import org.junit.jupiter.api.Test; // Marks test methods.
+
+// This class measures how well RedundancyFilter separates near-duplicates from distinct sentences on generated
+// sentences whose overlap is known, and checks it against a scan over every accepted signature.
+class RedundancyFilterTest {
+
+    private static final int VOCABULARY = 50_000; // Large enough that unrelated sentences share almost no words.
+
+    @Test
+    void rejectsNearDuplicatesAndKeepsDistinctSentences() {
+        TermTable terms = new TermTable();
+        RedundancyFilter filter = new RedundancyFilter(terms);
+        Random random = new Random(1);
+        List<int[]> originals = new ArrayList<>();
+        int duplicates = 0;
+        int duplicatesRejected = 0;
+        int distinct = 0;
+        int distinctRejected = 0;
+        for (int s = 0; s < 6000; s++) {
+            int kind = originals.isEmpty() ? 0 : random.nextInt(3);
+            int[] sentence;
+            if (kind == 0) { // A new sentence.
+                sentence = randomWords(terms, random, 10 + random.nextInt(16));
+                originals.add(sentence);
+            } else {
+                sentence = originals.get(random.nextInt(originals.size())).clone();
+                int replaced = kind == 1 ? 1 : sentence.length / 2; // One word (similarity >= 0.8) or half (about 0.33).
+                for (int k = 0; k < replaced; k++) {
+                    sentence[k] = randomWords(terms, random, 1)[0];
+                }
+            }
+            boolean accepted = filter.accept(sentence, 0, sentence.length);
+            if (kind == 1) {
+                duplicates++;
+                duplicatesRejected += accepted ? 0 : 1;
+            } else {
+                distinct++;
+                distinctRejected += accepted ? 0 : 1;
+            }
+        }
+        double recall = (double) duplicatesRejected / duplicates;
+        double falseRejections = (double) distinctRejected / distinct;
+        assertTrue(recall >= 0.95, "recall " + recall);
+        assertTrue(falseRejections <= 0.01, "false rejections " + falseRejections);
+        assertEquals(distinct + duplicates - duplicatesRejected - distinctRejected, filter.size());
+    }
+
+    @Test
+    void bandsFindWhatAFullScanFinds() {
+        TermTable terms = new TermTable();
+        RedundancyFilter filter = new RedundancyFilter(terms);
+        Random random = new Random(2);
+        List<int[]> acceptedSignatures = new ArrayList<>();
+        List<int[]> sentences = new ArrayList<>();
+        int scanDuplicates = 0;
+        int missed = 0;
+        int wrong = 0;
+        for (int s = 0; s < 4000; s++) {
+            int[] sentence;
+            if (!sentences.isEmpty() && random.nextInt(3) == 0) {
+                sentence = sentences.get(random.nextInt(sentences.size())).clone();
+                sentence[random.nextInt(sentence.length)] = randomWords(terms, random, 1)[0];
+            } else {
+                sentence = randomWords(terms, random, 8 + random.nextInt(20));
+            }
+            sentences.add(sentence);
+
+            int[] signature = new int[32];
+            filter.signature(sentence, 0, sentence.length, signature);
+            boolean scanFindsDuplicate = false;
+            for (int[] other : acceptedSignatures) {
+                int matches = 0;
+                for (int i = 0; i < signature.length; i++) {
+                    matches += other[i] == signature[i] ? 1 : 0;
+                }
+                scanFindsDuplicate |= matches >= Math.ceil(RedundancyFilter.MIN_SIMILARITY * signature.length);
+            }
+            boolean accepted = filter.accept(sentence, 0, sentence.length);
+            if (accepted) {
+                acceptedSignatures.add(signature);
+            }
+            scanDuplicates += scanFindsDuplicate ? 1 : 0;
+            missed += scanFindsDuplicate && accepted ? 1 : 0;
+            wrong += !scanFindsDuplicate && !accepted ? 1 : 0;
+        }
+        assertEquals(0, wrong, "rejected without a near-duplicate");
+        assertTrue(missed <= scanDuplicates / 50, missed + " of " + scanDuplicates + " missed by the bands");
+    }
+
+    @Test
+    void exactCopiesAreRejectedAndWordOrderDoesNotMatter() {
+        TermTable terms = new TermTable();
+        RedundancyFilter filter = new RedundancyFilter(terms);
+        int[] sentence = randomWords(terms, new Random(3), 12);
+        assertTrue(filter.accept(sentence, 0, sentence.length));
+        assertFalse(filter.accept(sentence, 0, sentence.length));
+        int[] reversed = new int[sentence.length];
+        for (int i = 0; i < sentence.length; i++) {
+            reversed[i] = sentence[sentence.length - 1 - i];
+        }
+        assertFalse(filter.accept(reversed, 0, reversed.length));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void sentencesWithoutWordsAreNeverDuplicates() {
+        RedundancyFilter filter = new RedundancyFilter(new TermTable());
+        assertTrue(filter.accept(new int[0], 0, 0));
+        assertTrue(filter.accept(new int[0], 0, 0));
+        assertEquals(0, filter.size());
+
+        // The tokenizer finds no words in non-Latin text, so skipping near-duplicates must not change its summary.
+        String text = "Привет мир. Как дела у тебя сегодня? Погода сегодня очень хорошая. Мы идём в парк. "
+            + "Καλημέρα κόσμε. Τι κάνεις σήμερα; Ο καιρός είναι καλός. Πάμε στο πάρκο.";
+        SummaryGenerator generator = new SummaryGenerator(new SentenceSegmenter(), null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, null);
+        SummaryOptions options = SummaryOptions.sentences(4);
+        String summary = generator.generateSummary(text, options);
+        assertEquals(summary, generator.generateSummary(text, options.withSkipNearDuplicates(true)));
+        assertTrue(summary.startsWith("Привет мир.") && summary.length() > "Привет мир.".length(), summary);
+    }
+
+    // Returns the term IDs of 'count' words drawn from the vocabulary, adding them to the table.
+    private static int[] randomWords(TermTable terms, Random random, int count) {
+        int[] ids = new int[count];
+        for (int k = 0; k < count; k++) {
+            char[] word = ("w" + Integer.toString(random.nextInt(VOCABULARY), 26)).toCharArray();
+            ids[k] = terms.add(word, word.length);
+        }
+        return ids;
+    }
+}
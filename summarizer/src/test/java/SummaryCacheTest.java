@@ -0,0 +1,54 @@
+import static org.junit.jupiter.api.Assertions.assertEquals; // Counters and summaries must match exactly.
+
+import java.util.ArrayList; // The worker threads' results.
+import java.util.List; // The worker threads' results.
+import java.util.concurrent.CyclicBarrier; // Starts the lookups together.
+import java.util.concurrent.ExecutorService; // Runs the concurrent lookups.
+import java.util.concurrent.Executors; // Creates the worker pool.
+import java.util.concurrent.Future; // Results of the concurrent lookups.
+import java.util.concurrent.atomic.AtomicInteger; // Counts generator calls.
+import org.junit.jupiter.api.Test; // Marks test methods.
+
+// This class checks that concurrent misses on the same text run the generator only once.
+class SummaryCacheTest {
+
+    @Test
+    void concurrentMissesShareOneComputation() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        SummaryGenerator slowGenerator = new SummaryGenerator(new SentenceSegmenter(), null, SummaryGenerator.DEFAULT_PARALLEL_THRESHOLD, null) {
+            @Override
+            public String generateSummary(CharSequence inputText, SummaryOptions options, SummaryListener listener) {
+                calls.incrementAndGet();
+                try {
+                    Thread.sleep(200); // Long enough for the other lookups to arrive while this one runs.
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.generateSummary(inputText, options, listener);
+            }
+        };
+        SummaryCache cache = new SummaryCache(slowGenerator, 1_000_000);
+        String text = TestTexts.document(6, 50);
+        int threads = 3;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<String>> summaries = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                summaries.add(executor.submit(() -> {
+                    start.await();
+                    return cache.generateSummary(text, SummaryOptions.DEFAULT);
+                }));
+            }
+            String expected = new SummaryGenerator().generateSummary(text, SummaryOptions.DEFAULT);
+            for (Future<String> summary : summaries) {
+                assertEquals(expected, summary.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getMisses());
+        assertEquals(threads - 1, cache.getHits());
+    }
+}
@@ -0,0 +1,23 @@
+import static org.junit.jupiter.api.Assertions.assertEquals; // Limits must match exactly.
+import static org.junit.jupiter.api.Assertions.assertThrows; // Invalid combinations are rejected.
+
+import org.junit.jupiter.api.Test; // Marks test methods.
+
+// This class checks how the sentence cap combines with the other length settings.
+class SummaryOptionsTest {
+
+    @Test
+    void capLimitsRatiosAndCounts() {
+        assertEquals(10, SummaryOptions.ratio(0.5).withMaxSentences(10).sentenceLimit(100));
+        assertEquals(3, SummaryOptions.sentences(3).withMaxSentences(10).sentenceLimit(100));
+        assertEquals(1, SummaryOptions.sentences(3).withMaxSentences(1).sentenceLimit(100));
+        assertEquals("ratio=0.5,max=10", SummaryOptions.DEFAULT.withMaxSentences(10).toString());
+    }
+
+    @Test
+    void capCannotBeCombinedWithAWordBudget() {
+        assertThrows(IllegalArgumentException.class, () -> SummaryOptions.words(5).withMaxSentences(1));
+        assertThrows(IllegalArgumentException.class, () -> SummaryOptions.words(5).withRanker(SummaryRanker.TEXTRANK).withMaxSentences(1));
+        assertThrows(IllegalArgumentException.class, () -> SummaryOptions.ratio(0.5).withMaxSentences(-1));
+    }
+}
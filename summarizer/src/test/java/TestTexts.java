@@ -0,0 +1,89 @@
+import java.util.Random; // Seeded, so every test sees the same texts on every run.
+
+// This class generates deterministic test documents.
+// Word frequencies follow a Zipf-like curve, as in real text, so scores spread out and ties stay rare. Sentences end
+// with '.', '?' or '!', sometimes inside quotes (straight or curly) or brackets, and some contain "Dr." so the
+// abbreviation rule is exercised. Some sentences are copies of earlier ones with one word changed.
+final class TestTexts {
+
+    private static final String[] CLOSERS = {"", "", "", "\"", "”", "’", ")"};
+    private static final char[] TERMINATORS = {'.', '.', '.', '?', '!'};
+
+    private TestTexts() {
+    }
+
+    // Returns a document of the given number of sentences built from the seed.
+    static String document(long seed, int sentences) {
+        return document(seed, sentences, 600);
+    }
+
+    // Same as above, drawing words from a vocabulary of the given size.
+    static String document(long seed, int sentences, int vocabularySize) {
+        Random random = new Random(seed);
+        String[] vocabulary = vocabulary(random, vocabularySize);
+        StringBuilder text = new StringBuilder();
+        String[] previous = new String[0];
+        for (int s = 0; s < sentences; s++) {
+            String[] words;
+            if (previous.length > 0 && random.nextInt(8) == 0) {
+                words = previous.clone(); // A near-copy of the previous sentence.
+                words[random.nextInt(words.length)] = vocabulary[random.nextInt(vocabulary.length)];
+            } else {
+                words = new String[4 + random.nextInt(16)];
+                for (int w = 0; w < words.length; w++) {
+                    words[w] = vocabulary[zipf(random, vocabulary.length)];
+                }
+                if (random.nextInt(10) == 0) {
+                    words[random.nextInt(words.length)] = "Dr.";
+                }
+            }
+            previous = words;
+            String closer = CLOSERS[random.nextInt(CLOSERS.length)];
+            if (closer.equals("\"")) {
+                text.append('"');
+            } else if (closer.equals("”")) {
+                text.append('“');
+            } else if (closer.equals("’")) {
+                text.append('‘');
+            } else if (closer.equals(")")) {
+                text.append('(');
+            }
+            for (int w = 0; w < words.length; w++) {
+                text.append(w == 0 ? capitalize(words[w]) : words[w]).append(w + 1 < words.length ? " " : "");
+            }
+            text.append(TERMINATORS[random.nextInt(TERMINATORS.length)]).append(closer);
+            text.append(random.nextInt(6) == 0 ? "\n" : " ");
+        }
+        return text.toString();
+    }
+
+    // Returns 'size' distinct made-up words, a few with non-ASCII letters.
+    private static String[] vocabulary(Random random, int size) {
+        String letters = "etaoinshrdlucmfwypvbgkjqxz";
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(8);
+            for (int k = 0; k < length; k++) {
+                word.append(letters.charAt(Math.min(letters.length() - 1, (int) (random.nextDouble() * random.nextDouble() * letters.length()))));
+            }
+            if (random.nextInt(20) == 0) {
+                word.append(random.nextBoolean() ? "é" : "ü");
+            }
+            for (int n = i; n > 0; n /= 26) { // The index, in letters, keeps the words distinct.
+                word.append((char) ('a' + n % 26));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    // Returns an index in [0, n) where small indices are much more likely.
+    private static int zipf(Random random, int n) {
+        return (int) Math.min(n - 1, Math.floor(Math.pow(n + 1, random.nextDouble())) - 1);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
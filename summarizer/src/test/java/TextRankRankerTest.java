@@ -0,0 +1,119 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals; // Parallel ranks must match exactly.
+import static org.junit.jupiter.api.Assertions.assertEquals; // Ranks must match the naive ones closely.
+import static org.junit.jupiter.api.Assertions.assertTrue; // Bound on sentences left without edges.
+
+import java.util.Arrays; // For the naive ranks.
+import java.util.HashSet; // Distinct words of each sentence.
+import java.util.Set; // Distinct words of each sentence.
+import java.util.concurrent.ForkJoinPool; // Pool for the parallel mode.
+import org.junit.jupiter.api.Test; // Marks test methods.
+
+// This class checks the sparse TextRank against a naive version that compares every pair of sentences and
+// iterates over a dense matrix, and checks that ranking on a pool gives exactly the sequential ranks.
+class TextRankRankerTest {
+
+    private static final double DAMPING = 0.85;
+
+    @Test
+    void sparseRanksMatchNaiveRanksWithoutPruning() {
+        TokenizedText tokenized = tokenize(TestTexts.document(1, 400));
+        int n = tokenized.sentenceCount();
+        long[] scores = new long[n];
+        TextRankRanker unpruned = new TextRankRanker(DAMPING, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        unpruned.rank(tokenized, null, scores, new SummaryProgress(SummaryListener.NONE));
+
+        double[] expected = naiveRanks(tokenized);
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected[i], scores[i] / (double) (1 << 24), 1e-5, "sentence " + i);
+        }
+    }
+
+    @Test
+    void parallelRanksEqualSequentialRanks() {
+        TokenizedText tokenized = tokenize(TestTexts.document(2, 3000));
+        long[] sequential = new long[tokenized.sentenceCount()];
+        long[] parallel = new long[tokenized.sentenceCount()];
+        TextRankRanker ranker = new TextRankRanker();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ranker.rank(tokenized, null, sequential, new SummaryProgress(SummaryListener.NONE));
+            ranker.rank(tokenized, pool, parallel, new SummaryProgress(SummaryListener.NONE));
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(sequential, parallel);
+    }
+
+    @Test
+    void fewSentencesOfALongDocumentAreLeftWithoutEdges() {
+        TokenizedText tokenized = tokenize(TestTexts.document(9, 40_000, 5000));
+        int n = tokenized.sentenceCount();
+        long[] scores = new long[n];
+        new TextRankRanker().rank(tokenized, null, scores, new SummaryProgress(SummaryListener.NONE));
+
+        // A sentence without incoming edges gets only the base rank, the lowest there is.
+        long lowest = Arrays.stream(scores).min().getAsLong();
+        long isolated = Arrays.stream(scores).filter(score -> score == lowest).count();
+        assertTrue(isolated <= n * 0.03, isolated + " of " + n + " sentences without edges"); // 4.7% with a limit of 256.
+    }
+
+    private static TokenizedText tokenize(String text) {
+        IntList starts = new IntList();
+        IntList ends = new IntList();
+        int count = new SentenceSegmenter().segment(text, 0, text.length(), starts, ends);
+        return TokenizedText.tokenize(text, starts, ends, count);
+    }
+
+    // TextRank straight from its definition: similarity = shared distinct words / (log(1 + |a|) + log(1 + |b|)),
+    // power iteration over all pairs, sentences without edges spreading their rank over every sentence.
+    private static double[] naiveRanks(TokenizedText tokenized) {
+        int n = tokenized.sentenceCount();
+        int[] termIds = tokenized.termIds();
+        Set<Integer>[] words = newSetArray(n);
+        for (int i = 0; i < n; i++) {
+            words[i] = new HashSet<>();
+            for (int k = tokenized.sentenceTermStart(i); k < tokenized.sentenceTermEnd(i); k++) {
+                words[i].add(termIds[k]);
+            }
+        }
+        double[][] weight = new double[n][n];
+        double[] outgoing = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    Set<Integer> shared = new HashSet<>(words[i]);
+                    shared.retainAll(words[j]);
+                    weight[i][j] = shared.size() / (Math.log(1 + words[i].size()) + Math.log(1 + words[j].size()));
+                    outgoing[i] += weight[i][j];
+                }
+            }
+        }
+        double[] ranks = new double[n];
+        Arrays.fill(ranks, 1.0);
+        for (int iteration = 0; iteration < 100; iteration++) {
+            double dangling = 0;
+            for (int j = 0; j < n; j++) {
+                if (outgoing[j] == 0) {
+                    dangling += ranks[j];
+                }
+            }
+            double[] next = new double[n];
+            for (int i = 0; i < n; i++) {
+                double sum = 0;
+                for (int j = 0; j < n; j++) {
+                    if (outgoing[j] > 0) {
+                        sum += weight[j][i] / outgoing[j] * ranks[j];
+                    }
+                }
+                next[i] = (1 - DAMPING) + DAMPING * (sum + dangling / n);
+            }
+            ranks = next;
+        }
+        return ranks;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Set<Integer>[] newSetArray(int n) {
+        return new Set[n];
+    }
+}